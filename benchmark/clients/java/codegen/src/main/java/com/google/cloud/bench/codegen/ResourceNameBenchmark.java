@@ -0,0 +1,71 @@
+package com.google.cloud.bench.codegen;
+
+import com.google.api.pathtemplate.PathTemplate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares parsing and formatting a generated resource name class, whose path template is matched
+ * and instantiated by code specialized for the template, with the PathTemplate calls generated
+ * resource name classes used to make.
+ *
+ * <p>{@link ProjectRegionAddressName} is copied verbatim from the generator's simplecompute
+ * baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ResourceNameBenchmark {
+
+  private static final PathTemplate PATH_TEMPLATE =
+      PathTemplate.createWithoutUrlEncoding("{project}/regions/{region}/addresses/{address}");
+
+  private final String formattedName =
+      ProjectRegionAddressName.SERVICE_ADDRESS
+          + "my-project/regions/us-central1/addresses/my-address";
+  private final ProjectRegionAddressName name = ProjectRegionAddressName.parse(formattedName);
+
+  @Benchmark
+  public ProjectRegionAddressName parseSpecialized() {
+    return ProjectRegionAddressName.parse(formattedName);
+  }
+
+  @Benchmark
+  public ProjectRegionAddressName parsePathTemplate() {
+    String resourcePath = formattedName;
+    if (formattedName.startsWith(ProjectRegionAddressName.SERVICE_ADDRESS)) {
+      resourcePath = formattedName.substring(ProjectRegionAddressName.SERVICE_ADDRESS.length());
+    }
+    Map<String, String> matchMap =
+        PATH_TEMPLATE.validatedMatch(
+            resourcePath, "ProjectRegionAddressName.parse: formattedString not in valid format");
+    return ProjectRegionAddressName.of(
+        matchMap.get("address"), matchMap.get("project"), matchMap.get("region"));
+  }
+
+  @Benchmark
+  public String formatSpecialized() {
+    return name.toString();
+  }
+
+  @Benchmark
+  public String formatPathTemplate() {
+    return ProjectRegionAddressName.SERVICE_ADDRESS
+        + PATH_TEMPLATE.instantiate(
+            "address", name.getAddress(),
+            "project", name.getProject(),
+            "region", name.getRegion());
+  }
+}
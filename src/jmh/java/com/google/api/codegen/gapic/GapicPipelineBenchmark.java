@@ -0,0 +1,172 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import com.google.api.codegen.ArtifactType;
+import com.google.api.codegen.CodegenTestUtil;
+import com.google.api.codegen.ConfigProto;
+import com.google.api.codegen.MixedPathTestDataLocator;
+import com.google.api.codegen.common.CodeGenerator;
+import com.google.api.codegen.common.GeneratedResult;
+import com.google.api.codegen.common.TargetLanguage;
+import com.google.api.codegen.config.GapicProductConfig;
+import com.google.api.codegen.config.PackageMetadataConfig;
+import com.google.api.codegen.viewmodel.ViewModel;
+import com.google.api.tools.framework.model.Model;
+import com.google.api.tools.framework.model.testing.TestDataLocator;
+import com.google.api.tools.framework.snippet.Doc;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.rules.TemporaryFolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the stages of the code generation pipeline on the test APIs: creating the product
+ * config, transforming the model into view models, rendering the view models into Docs, and
+ * pretty-printing the Docs. Like the baseline tests, the model is compiled with the protoc named
+ * by the PROTOC_COMPILER environment variable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class GapicPipelineBenchmark {
+
+  @Param({"library", "showcase"})
+  private String api;
+
+  @Param({"JAVA", "CSHARP", "GO", "NODEJS", "PHP", "PYTHON", "RUBY"})
+  private TargetLanguage language;
+
+  private final TemporaryFolder tempDir = new TemporaryFolder();
+  private Model model;
+  private ConfigProto gapicConfig;
+  private GapicProductConfig productConfig;
+  private List<GapicGenerator> generators;
+  private List<List<ViewModel>> viewModels;
+  private List<Doc> docs;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    tempDir.create();
+    TestDataLocator locator = MixedPathTestDataLocator.create(CodegenTestUtil.class);
+    locator.addTestDataSource(CodegenTestUtil.class, "testsrc/common");
+    locator.addTestDataSource(CodegenTestUtil.class, "testsrc/showcase");
+
+    String[] protoFiles;
+    String[] serviceConfigFiles;
+    String[] gapicConfigFiles;
+    if (api.equals("showcase")) {
+      protoFiles = new String[] {"echo.proto"};
+      serviceConfigFiles = new String[] {"showcase.yaml"};
+      gapicConfigFiles = new String[] {"showcase_gapic.yaml"};
+    } else {
+      protoFiles = new String[] {"library.proto"};
+      serviceConfigFiles = new String[] {"library.yaml"};
+      gapicConfigFiles = new String[] {"library_gapic.yaml"};
+    }
+    model = CodegenTestUtil.readModel(locator, tempDir, protoFiles, serviceConfigFiles);
+    gapicConfig =
+        CodegenTestUtil.readConfig(
+            model.getDiagReporter().getDiagCollector(), locator, gapicConfigFiles);
+    productConfig = createProductConfig();
+    if (productConfig == null) {
+      throw new IllegalStateException(
+          "Failed to create the product config: "
+              + model.getDiagReporter().getDiagCollector().getDiags());
+    }
+
+    ArtifactFlags artifactFlags =
+        new ArtifactFlags(
+            Arrays.asList("surface", "test", "samples"), ArtifactType.LEGACY_GAPIC_AND_PACKAGE);
+    generators = new ArrayList<>();
+    for (CodeGenerator<?> generator :
+        GapicGeneratorFactory.create(
+            language,
+            model,
+            productConfig,
+            PackageMetadataConfig.createDummyPackageMetadataConfig(),
+            artifactFlags,
+            true)) {
+      if (generator instanceof GapicGenerator) {
+        generators.add((GapicGenerator) generator);
+      }
+    }
+
+    viewModels = new ArrayList<>();
+    docs = new ArrayList<>();
+    for (GapicGenerator generator : generators) {
+      List<ViewModel> generatorViewModels = generator.transform();
+      viewModels.add(generatorViewModels);
+      for (ViewModel viewModel : generatorViewModels) {
+        for (GeneratedResult<Doc> result : generator.renderViewModel(viewModel).values()) {
+          docs.add(result.getBody());
+        }
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    tempDir.delete();
+  }
+
+  @Benchmark
+  public GapicProductConfig createProductConfig() {
+    return GapicProductConfig.create(model, gapicConfig, null, null, language);
+  }
+
+  @Benchmark
+  public void transform(Blackhole blackhole) {
+    for (GapicGenerator generator : generators) {
+      blackhole.consume(generator.transform());
+    }
+  }
+
+  @Benchmark
+  public void render(Blackhole blackhole) {
+    for (int i = 0; i < generators.size(); i++) {
+      for (ViewModel viewModel : viewModels.get(i)) {
+        Map<String, GeneratedResult<Doc>> rendered = generators.get(i).renderViewModel(viewModel);
+        blackhole.consume(rendered);
+      }
+    }
+  }
+
+  @Benchmark
+  public void prettyPrint(Blackhole blackhole) {
+    for (Doc doc : docs) {
+      blackhole.consume(doc.prettyPrint());
+    }
+  }
+}
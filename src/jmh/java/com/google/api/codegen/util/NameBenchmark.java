@@ -0,0 +1,150 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.util;
+
+import com.google.api.codegen.CodegenTestUtil;
+import com.google.api.codegen.MixedPathTestDataLocator;
+import com.google.api.tools.framework.model.EnumType;
+import com.google.api.tools.framework.model.EnumValue;
+import com.google.api.tools.framework.model.Field;
+import com.google.api.tools.framework.model.Interface;
+import com.google.api.tools.framework.model.MessageType;
+import com.google.api.tools.framework.model.Method;
+import com.google.api.tools.framework.model.Model;
+import com.google.api.tools.framework.model.ProtoContainerElement;
+import com.google.api.tools.framework.model.ProtoFile;
+import com.google.api.tools.framework.model.testing.TestDataLocator;
+import com.google.common.base.CaseFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.rules.TemporaryFolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks creating and rendering Names for the identifiers of the showcase API, the way namers
+ * do: field names, in both lower-underscore and lower-camel, through {@link Name#anyLower}, and
+ * message, enum and method names through {@link Name#upperCamel}. The cold benchmarks clear the
+ * interned names first, so that every identifier is parsed again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class NameBenchmark {
+
+  private final TemporaryFolder tempDir = new TemporaryFolder();
+  private final List<String> lowerIdentifiers = new ArrayList<>();
+  private final List<String> upperCamelIdentifiers = new ArrayList<>();
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    tempDir.create();
+    TestDataLocator locator = MixedPathTestDataLocator.create(CodegenTestUtil.class);
+    locator.addTestDataSource(CodegenTestUtil.class, "testsrc/showcase");
+    Model model =
+        CodegenTestUtil.readModel(
+            locator, tempDir, new String[] {"echo.proto"}, new String[] {"showcase.yaml"});
+    for (ProtoFile file : model.getFiles()) {
+      addIdentifiers(file);
+      for (Interface apiInterface : file.getInterfaces()) {
+        for (Method method : apiInterface.getMethods()) {
+          upperCamelIdentifiers.add(method.getSimpleName());
+        }
+      }
+    }
+  }
+
+  private void addIdentifiers(ProtoContainerElement container) {
+    for (MessageType message : container.getMessages()) {
+      upperCamelIdentifiers.add(message.getSimpleName());
+      for (Field field : message.getFields()) {
+        lowerIdentifiers.add(field.getSimpleName());
+        lowerIdentifiers.add(
+            CaseFormat.LOWER_UNDERSCORE.to(CaseFormat.LOWER_CAMEL, field.getSimpleName()));
+      }
+      addIdentifiers(message);
+    }
+    for (EnumType enumType : container.getEnums()) {
+      upperCamelIdentifiers.add(enumType.getSimpleName());
+      for (EnumValue value : enumType.getValues()) {
+        lowerIdentifiers.add(value.getSimpleName().toLowerCase());
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    tempDir.delete();
+  }
+
+  @Benchmark
+  public void parseCold(Blackhole blackhole) {
+    Name.clearInternedNames();
+    parse(blackhole);
+  }
+
+  @Benchmark
+  public void parseInterned(Blackhole blackhole) {
+    parse(blackhole);
+  }
+
+  @Benchmark
+  public void parseAndRenderCold(Blackhole blackhole) {
+    Name.clearInternedNames();
+    parseAndRender(blackhole);
+  }
+
+  @Benchmark
+  public void parseAndRenderInterned(Blackhole blackhole) {
+    parseAndRender(blackhole);
+  }
+
+  private void parse(Blackhole blackhole) {
+    for (String identifier : lowerIdentifiers) {
+      blackhole.consume(Name.anyLower(identifier));
+    }
+    for (String identifier : upperCamelIdentifiers) {
+      blackhole.consume(Name.upperCamel(identifier));
+    }
+  }
+
+  private void parseAndRender(Blackhole blackhole) {
+    for (String identifier : lowerIdentifiers) {
+      Name name = Name.anyLower(identifier);
+      blackhole.consume(name.toUpperCamel());
+      blackhole.consume(name.toLowerCamel());
+    }
+    for (String identifier : upperCamelIdentifiers) {
+      Name name = Name.upperCamel(identifier);
+      blackhole.consume(name.toLowerUnderscore());
+      blackhole.consume(name.toUpperUnderscore());
+    }
+  }
+}
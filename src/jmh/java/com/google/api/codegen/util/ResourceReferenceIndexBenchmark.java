@@ -0,0 +1,128 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.util;
+
+import com.google.api.Resource;
+import com.google.api.ResourceSet;
+import com.google.api.codegen.CodegenTestUtil;
+import com.google.api.codegen.MixedPathTestDataLocator;
+import com.google.api.tools.framework.model.Model;
+import com.google.api.tools.framework.model.ProtoFile;
+import com.google.api.tools.framework.model.testing.TestDataLocator;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.rules.TemporaryFolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks resolving the resource references of a synthetic API with thousands of resources,
+ * with a single index against building the index, which is as expensive as scanning all resource
+ * definitions, once per reference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ResourceReferenceIndexBenchmark {
+
+  @Param({"1000", "5000"})
+  private int resourceCount;
+
+  private final TemporaryFolder tempDir = new TemporaryFolder();
+  private final ProtoParser protoParser = new ProtoParser(true);
+  private ProtoFile protoFile;
+  private Map<Resource, ProtoFile> resourceDefs;
+  private Map<ResourceSet, ProtoFile> resourceSetDefs;
+  private List<String> references;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    tempDir.create();
+    TestDataLocator locator = MixedPathTestDataLocator.create(CodegenTestUtil.class);
+    locator.addTestDataSource(CodegenTestUtil.class, "testsrc/common");
+    Model model =
+        CodegenTestUtil.readModel(
+            locator, tempDir, new String[] {"library.proto"}, new String[] {"library.yaml"});
+    protoFile =
+        model
+            .getFiles()
+            .stream()
+            .filter(f -> f.getSimpleName().equals("library.proto"))
+            .findFirst()
+            .get();
+    String protoPackage = protoParser.getProtoPackage(protoFile);
+
+    resourceDefs = new LinkedHashMap<>();
+    resourceSetDefs = new LinkedHashMap<>();
+    references = new ArrayList<>();
+    for (int i = 0; i < resourceCount; i++) {
+      Resource resource =
+          Resource.newBuilder()
+              .setSymbol("Resource" + i)
+              .setPattern("parents/{parent}/resources" + i + "/{resource}")
+              .build();
+      resourceDefs.put(resource, protoFile);
+      ResourceSet resourceSet =
+          ResourceSet.newBuilder()
+              .setSymbol("ResourceSet" + i)
+              .addResourceReferences("Resource" + i)
+              .build();
+      resourceSetDefs.put(resourceSet, protoFile);
+      // Every field refers to a resource, half of them by package-qualified name.
+      references.add(i % 2 == 0 ? "Resource" + i : protoPackage + ".ResourceSet" + i);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    tempDir.delete();
+  }
+
+  @Benchmark
+  public void lookupInSharedIndex(Blackhole blackhole) {
+    ResourceReferenceIndex index =
+        protoParser.createResourceReferenceIndex(resourceDefs, resourceSetDefs);
+    for (String reference : references) {
+      blackhole.consume(index.lookup(reference, protoFile));
+    }
+  }
+
+  @Benchmark
+  public void lookupWithIndexPerReference(Blackhole blackhole) {
+    for (String reference : references) {
+      ResourceReferenceIndex index =
+          protoParser.createResourceReferenceIndex(resourceDefs, resourceSetDefs);
+      blackhole.consume(index.lookup(reference, protoFile));
+    }
+  }
+}
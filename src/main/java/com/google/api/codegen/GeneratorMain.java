@@ -19,9 +19,13 @@ import com.google.api.codegen.configgen.GapicConfigGeneratorApp;
 import com.google.api.codegen.discogapic.DiscoGapicGeneratorApp;
 import com.google.api.codegen.gapic.FileGapicWriter;
 import com.google.api.codegen.gapic.GapicGeneratorApp;
+import com.google.api.codegen.gapic.GapicWriter;
+import com.google.api.codegen.gapic.StreamingFileGapicWriter;
+import com.google.api.codegen.packagegen.PackageCopyMode;
 import com.google.api.codegen.packagegen.PackageGeneratorApp;
 import com.google.api.codegen.packagegen.PackagingArtifactType;
 import com.google.api.tools.framework.tools.ToolOptions;
+import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 import java.io.File;
@@ -253,6 +257,85 @@ public class GeneratorMain {
             .build();
     options.addOption(devSamplesOption);
 
+    Option parallelRenderingOption =
+        Option.builder()
+            .longOpt("parallel_rendering")
+            .desc("Whether to render the view models of each generator concurrently.")
+            .argName("PARALLEL_RENDERING")
+            .required(false)
+            .build();
+    options.addOption(parallelRenderingOption);
+
+    Option renderingThreadsOption =
+        Option.builder()
+            .longOpt("rendering_threads")
+            .desc(
+                "Optional. The number of threads used with --parallel_rendering. "
+                    + "Defaults to the number of available processors.")
+            .hasArg()
+            .argName("RENDERING_THREADS")
+            .required(false)
+            .build();
+    options.addOption(renderingThreadsOption);
+
+    Option parallelGeneratorsOption =
+        Option.builder()
+            .longOpt("parallel_generators")
+            .desc("Whether to run the code generators of the target language concurrently.")
+            .argName("PARALLEL_GENERATORS")
+            .required(false)
+            .build();
+    options.addOption(parallelGeneratorsOption);
+
+    Option generatorThreadsOption =
+        Option.builder()
+            .longOpt("generator_threads")
+            .desc(
+                "Optional. The maximum number of code generators run at the same time with "
+                    + "--parallel_generators. Defaults to the number of available processors.")
+            .hasArg()
+            .argName("GENERATOR_THREADS")
+            .required(false)
+            .build();
+    options.addOption(generatorThreadsOption);
+
+    Option languagesOption =
+        Option.builder()
+            .longOpt("languages")
+            .desc(
+                "Optional. Comma-separated target languages, generated from a single model "
+                    + "into subdirectories of the output named after each language.")
+            .hasArg()
+            .argName("LANGUAGES")
+            .required(false)
+            .build();
+    options.addOption(languagesOption);
+
+    Option streamingOutputOption =
+        Option.builder()
+            .longOpt("streaming_output")
+            .desc(
+                "Whether to write each generated file as soon as it is generated, instead of "
+                    + "writing all files once generation completes.")
+            .argName("STREAMING_OUTPUT")
+            .required(false)
+            .build();
+    options.addOption(streamingOutputOption);
+
+    Option incrementalOutputOption =
+        Option.builder()
+            .longOpt("incremental_output")
+            .desc(
+                "Whether to leave output files whose content did not change untouched, and to "
+                    + "remove files which are no longer generated. Only applies to output "
+                    + "directories, without --streaming_output. The manifest of the output and "
+                    + "the list of changed files are written into the .gapic directory of the "
+                    + "output directory, as .gapic/manifest and .gapic/changes.")
+            .argName("INCREMENTAL_OUTPUT")
+            .required(false)
+            .build();
+    options.addOption(incrementalOutputOption);
+
     CommandLine cl = (new DefaultParser()).parse(options, args);
     if (cl.hasOption("help")) {
       HelpFormatter formatter = new HelpFormatter();
@@ -302,14 +385,50 @@ public class GeneratorMain {
     }
 
     toolOptions.set(GapicGeneratorApp.DEV_SAMPLES, cl.hasOption(devSamplesOption.getLongOpt()));
+    toolOptions.set(
+        GapicGeneratorApp.PARALLEL_RENDERING,
+        cl.hasOption(parallelRenderingOption.getLongOpt()));
+    if (cl.getOptionValue(renderingThreadsOption.getLongOpt()) != null) {
+      toolOptions.set(
+          GapicGeneratorApp.RENDERING_THREADS,
+          Integer.parseInt(cl.getOptionValue(renderingThreadsOption.getLongOpt())));
+    }
+    if (cl.getOptionValue(languagesOption.getLongOpt()) != null) {
+      toolOptions.set(
+          GapicGeneratorApp.LANGUAGES,
+          Splitter.on(',')
+              .trimResults()
+              .omitEmptyStrings()
+              .splitToList(cl.getOptionValue(languagesOption.getLongOpt())));
+    }
+    toolOptions.set(
+        GapicGeneratorApp.PARALLEL_GENERATORS,
+        cl.hasOption(parallelGeneratorsOption.getLongOpt()));
+    if (cl.getOptionValue(generatorThreadsOption.getLongOpt()) != null) {
+      toolOptions.set(
+          GapicGeneratorApp.GENERATOR_THREADS,
+          Integer.parseInt(cl.getOptionValue(generatorThreadsOption.getLongOpt())));
+    }
 
     String outputPath = toolOptions.get(GapicGeneratorApp.OUTPUT_FILE);
-    GapicGeneratorApp codeGen =
-        new GapicGeneratorApp(toolOptions, artifactType, new FileGapicWriter(outputPath));
+    GapicWriter gapicWriter =
+        cl.hasOption(streamingOutputOption.getLongOpt())
+            ? new StreamingFileGapicWriter(outputPath)
+            : new FileGapicWriter(
+                outputPath, cl.hasOption(incrementalOutputOption.getLongOpt()));
+    GapicGeneratorApp codeGen = new GapicGeneratorApp(toolOptions, artifactType, gapicWriter);
     int exitCode = codeGen.run();
     System.exit(exitCode);
   }
 
+  /**
+   * Creates the options of a protoc plugin invocation whose descriptors are read from a descriptor
+   * set file.
+   *
+   * @deprecated The protoc plugin hands its descriptors to the generator in memory; use {@link
+   *     #createInMemoryCodeGeneratorOptionsFromProtoc} instead.
+   */
+  @Deprecated
   public static ToolOptions createCodeGeneratorOptionsFromProtoc(String[] args)
       throws ParseException {
     Options options = new Options();
@@ -333,6 +452,26 @@ public class GeneratorMain {
     return toolOptions;
   }
 
+  /**
+   * Creates the options of a protoc plugin invocation whose descriptors are handed to the generator
+   * in memory, so no descriptor set file is given.
+   */
+  public static ToolOptions createInMemoryCodeGeneratorOptionsFromProtoc(String[] args)
+      throws ParseException {
+    Options options = new Options();
+    options.addOption(LANGUAGE_OPTION);
+    options.addOption(TARGET_API_PROTO_PACKAGE);
+
+    CommandLine cl = (new DefaultParser()).parse(options, args);
+
+    ToolOptions toolOptions = ToolOptions.create();
+    toolOptions.set(
+        GapicGeneratorApp.PROTO_PACKAGE, cl.getOptionValue(TARGET_API_PROTO_PACKAGE.getLongOpt()));
+    toolOptions.set(GapicGeneratorApp.LANGUAGE, cl.getOptionValue(LANGUAGE_OPTION.getLongOpt()));
+
+    return toolOptions;
+  }
+
   public static void packageGeneratorMain(String[] args) throws Exception {
     Options options = new Options();
     options.addOption("h", "help", false, "show usage");
@@ -362,6 +501,28 @@ public class GeneratorMain {
             .required(false)
             .build();
     options.addOption(artifactTypeOption);
+    Option copyModeOption =
+        Option.builder()
+            .longOpt("copy_mode")
+            .desc(
+                "Optional. How the files of the input directory are copied into the output "
+                    + "directory: 'COPY' (the default), 'INCREMENTAL' or 'LINK'.")
+            .hasArg()
+            .argName("COPY-MODE")
+            .required(false)
+            .build();
+    options.addOption(copyModeOption);
+    Option copyThreadsOption =
+        Option.builder()
+            .longOpt("copy_threads")
+            .desc(
+                "Optional. The number of threads copying the files of the input directory. "
+                    + "Defaults to the number of available processors.")
+            .hasArg()
+            .argName("COPY-THREADS")
+            .required(false)
+            .build();
+    options.addOption(copyThreadsOption);
 
     CommandLine cl = (new DefaultParser()).parse(options, args);
     if (cl.hasOption("help")) {
@@ -394,6 +555,14 @@ public class GeneratorMain {
           PackageGeneratorApp.ARTIFACT_TYPE,
           PackagingArtifactType.of(cl.getOptionValue(artifactTypeOption.getLongOpt())));
     }
+    toolOptions.set(
+        PackageGeneratorApp.COPY_MODE,
+        PackageCopyMode.of(cl.getOptionValue(copyModeOption.getLongOpt())));
+    if (cl.getOptionValue(copyThreadsOption.getLongOpt()) != null) {
+      toolOptions.set(
+          PackageGeneratorApp.COPY_THREADS,
+          Integer.parseInt(cl.getOptionValue(copyThreadsOption.getLongOpt())));
+    }
 
     PackageGeneratorApp generator = new PackageGeneratorApp(toolOptions);
     int exitCode = generator.run();
@@ -438,7 +607,8 @@ public class GeneratorMain {
             .longOpt("enabled_artifacts")
             .desc(
                 "Optional. Artifacts enabled for the generator. "
-                    + "Currently supports 'surface' and 'test'.")
+                    + "Currently supports 'surface', 'test' and the opt-in 'json_codecs', "
+                    + "which generates schema-specific JSON parsers for the HTTP stubs.")
             .hasArg()
             .argName("ENABLED_ARTIFACTS")
             .required(false)
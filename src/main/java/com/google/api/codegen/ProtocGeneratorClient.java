@@ -0,0 +1,92 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen;
+
+import com.google.common.base.Strings;
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorRequest;
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * A protoc plugin which is a drop-in replacement for {@link ProtocGeneratorMain}, but forwards the
+ * CodeGeneratorRequest to a running {@link ProtocGeneratorServer} instead of generating in its own
+ * JVM.
+ *
+ * <p>The server port is read from the {@code GAPIC_GENERATOR_PORT} environment variable, and
+ * defaults to {@link ProtocGeneratorServer#DEFAULT_PORT}. If no server is listening, the request is
+ * generated in-process, so the client can always be used in place of ProtocGeneratorMain.
+ */
+public class ProtocGeneratorClient {
+
+  private static final String PORT_ENV_VARIABLE = "GAPIC_GENERATOR_PORT";
+
+  public static void main(String[] args) {
+    CodeGeneratorRequest request;
+    try {
+      request =
+          CodeGeneratorRequest.parseFrom(System.in, ProtocGeneratorMain.createExtensionRegistry());
+    } catch (IOException e) {
+      System.err.println("Unable to parse CodeGeneraterRequest from stdin.");
+      e.printStackTrace(System.err);
+      System.exit(1);
+      return;
+    }
+
+    CodeGeneratorResponse response;
+    try {
+      response = generateRemotely(request, getPort());
+    } catch (ConnectException e) {
+      response = ProtocGeneratorMain.generate(request);
+    } catch (IOException e) {
+      response = CodeGeneratorResponse.newBuilder().setError(e.toString()).build();
+    }
+
+    try {
+      response.writeTo(System.out);
+    } catch (IOException e) {
+      System.err.println("Failed to write out CodeGeneratorResponse.");
+      e.printStackTrace(System.err);
+      System.exit(1);
+    }
+
+    System.out.flush();
+    System.exit(0);
+  }
+
+  /** Sends the request to the server listening on the given loopback port. */
+  public static CodeGeneratorResponse generateRemotely(CodeGeneratorRequest request, int port)
+      throws IOException {
+    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+      request.writeDelimitedTo(socket.getOutputStream());
+      socket.getOutputStream().flush();
+      CodeGeneratorResponse response =
+          CodeGeneratorResponse.parseDelimitedFrom(socket.getInputStream());
+      if (response == null) {
+        throw new IOException("Generator server closed the connection without a response.");
+      }
+      return response;
+    }
+  }
+
+  private static int getPort() {
+    String port = System.getenv(PORT_ENV_VARIABLE);
+    return Strings.isNullOrEmpty(port)
+        ? ProtocGeneratorServer.DEFAULT_PORT
+        : Integer.parseInt(port);
+  }
+}
@@ -18,19 +18,18 @@ import static com.google.api.codegen.ArtifactType.GAPIC_CODE;
 
 import com.google.api.codegen.gapic.GapicGeneratorApp;
 import com.google.api.codegen.gapic.ProtocGapicWriter;
+import com.google.api.codegen.util.ProtoParser;
 import com.google.api.tools.framework.model.Diag;
 import com.google.api.tools.framework.tools.ToolOptions;
 import com.google.api.tools.framework.tools.ToolUtil;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableSet;
-import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
 import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import com.google.protobuf.ExtensionRegistry;
 import com.google.protobuf.compiler.PluginProtos;
 import com.google.protobuf.compiler.PluginProtos.CodeGeneratorRequest;
 import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse;
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -51,7 +50,8 @@ public class ProtocGeneratorMain {
     int exitCode = 0;
 
     try {
-      request = PluginProtos.CodeGeneratorRequest.parseFrom(System.in);
+      request =
+          PluginProtos.CodeGeneratorRequest.parseFrom(System.in, createExtensionRegistry());
     } catch (IOException e) {
       response = PluginProtos.CodeGeneratorResponse.newBuilder().setError(e.toString()).build();
       try {
@@ -93,12 +93,14 @@ public class ProtocGeneratorMain {
   public static CodeGeneratorResponse generate(CodeGeneratorRequest request) {
     try {
       ToolOptions toolOptions = parseOptions(request);
+      FileDescriptorSet descriptorSet =
+          FileDescriptorSet.newBuilder().addAllFile(request.getProtoFileList()).build();
 
       ProtocGapicWriter gapicWriter = new ProtocGapicWriter();
       GapicGeneratorApp codeGen =
           new GapicGeneratorApp(toolOptions, DEFAULT_ARTIFACT_TYPE, gapicWriter);
 
-      codeGen.run();
+      codeGen.run(descriptorSet);
       CodeGeneratorResponse response = gapicWriter.getCodegenResponse();
       if (response == null) {
         throw new RuntimeException(collectDiags(codeGen));
@@ -113,23 +115,18 @@ public class ProtocGeneratorMain {
     }
   }
 
-  private static ToolOptions parseOptions(CodeGeneratorRequest request) throws Exception {
-    List<FileDescriptorProto> fileDescriptorProtoList = request.getProtoFileList();
-    FileDescriptorSet descriptorSet =
-        FileDescriptorSet.newBuilder().addAllFile(fileDescriptorProtoList).build();
-
-    // Write out DescriptorSet to temp file.
-    File descriptorSetFile;
-
-    descriptorSetFile = File.createTempFile("api", ".desc");
-    FileOutputStream fileoutput = new FileOutputStream(descriptorSetFile);
-    descriptorSet.writeTo(fileoutput);
-    fileoutput.close();
-    descriptorSetFile.deleteOnExit();
+  /**
+   * Returns an extension registry holding the API annotations, so that requests parsed with it
+   * don't need their descriptors to be resolved again by the generator.
+   */
+  static ExtensionRegistry createExtensionRegistry() {
+    ExtensionRegistry registry = ExtensionRegistry.newInstance();
+    ProtoParser.registerAllExtensions(registry);
+    return registry;
+  }
 
+  private static ToolOptions parseOptions(CodeGeneratorRequest request) throws Exception {
     List<String> parsedArgs = new LinkedList<>();
-    parsedArgs.add("--descriptor_set");
-    parsedArgs.add(descriptorSetFile.getAbsolutePath());
 
     List<String> protoPackages = getProtoPackageList(request);
     if (protoPackages.size() > 1) {
@@ -155,7 +152,7 @@ public class ProtocGeneratorMain {
 
     String[] argsArray = parsedArgs.toArray(new String[] {});
 
-    return GeneratorMain.createCodeGeneratorOptionsFromProtoc(argsArray);
+    return GeneratorMain.createInMemoryCodeGeneratorOptionsFromProtoc(argsArray);
   }
 
   // Return the list of unique proto packages of the proto files to be generated.
@@ -0,0 +1,147 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen;
+
+import com.google.api.codegen.util.LicenseHeaderUtil;
+import com.google.protobuf.ExtensionRegistry;
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorRequest;
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+
+/**
+ * A resident generator process which serves protoc-plugin generation jobs, so that JVM startup,
+ * class loading and the generator caches (such as parsed snippet sets) are paid once instead of
+ * once per protoc invocation.
+ *
+ * <p>Each job is a length-delimited CodeGeneratorRequest, answered with a length-delimited
+ * CodeGeneratorResponse, exactly as {@link ProtocGeneratorMain} would produce it. Jobs are read
+ * either from stdin (with {@code --stdio}) or from connections to a socket bound to the loopback
+ * address; a single connection may carry any number of jobs. {@link ProtocGeneratorClient} is a
+ * drop-in protoc plugin which forwards its request to the server.
+ */
+public class ProtocGeneratorServer {
+
+  /** The port the server listens on, and the client connects to, unless configured otherwise. */
+  public static final int DEFAULT_PORT = 50321;
+
+  private static final Option PORT_OPTION =
+      Option.builder()
+          .longOpt("port")
+          .desc("The loopback port to listen on. Defaults to " + DEFAULT_PORT + ".")
+          .hasArg()
+          .argName("PORT")
+          .required(false)
+          .build();
+  private static final Option STDIO_OPTION =
+      Option.builder()
+          .longOpt("stdio")
+          .desc("Serve jobs from stdin and write the results to stdout instead of a socket.")
+          .required(false)
+          .build();
+  private static final Option THREADS_OPTION =
+      Option.builder()
+          .longOpt("threads")
+          .desc(
+              "The number of connections served concurrently. "
+                  + "Defaults to the number of available processors.")
+          .hasArg()
+          .argName("THREADS")
+          .required(false)
+          .build();
+
+  public static void main(String[] args) throws Exception {
+    Options options = new Options();
+    options.addOption("h", "help", false, "show usage");
+    options.addOption(PORT_OPTION);
+    options.addOption(STDIO_OPTION);
+    options.addOption(THREADS_OPTION);
+
+    CommandLine cl = (new DefaultParser()).parse(options, args);
+    if (cl.hasOption("help")) {
+      HelpFormatter formatter = new HelpFormatter();
+      formatter.printHelp("ProtocGeneratorServer", options);
+      return;
+    }
+
+    // Read the resources every job needs before the first one arrives.
+    LicenseHeaderUtil.preload();
+
+    if (cl.hasOption(STDIO_OPTION.getLongOpt())) {
+      serve(System.in, System.out);
+      return;
+    }
+
+    int port =
+        Integer.parseInt(
+            cl.getOptionValue(PORT_OPTION.getLongOpt(), String.valueOf(DEFAULT_PORT)));
+    int threads =
+        Integer.parseInt(
+            cl.getOptionValue(
+                THREADS_OPTION.getLongOpt(),
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+    listen(port, threads);
+  }
+
+  /** Accepts connections on the given loopback port and serves the jobs sent over them. */
+  public static void listen(int port, int threads) throws IOException {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try (ServerSocket serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress())) {
+      System.err.println("Serving generation jobs on port " + serverSocket.getLocalPort());
+      while (true) {
+        Socket socket = serverSocket.accept();
+        executor.execute(() -> serveConnection(socket));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void serveConnection(Socket socket) {
+    try (Socket s = socket) {
+      serve(s.getInputStream(), s.getOutputStream());
+    } catch (IOException e) {
+      System.err.println("Failed to serve connection: " + e);
+    }
+  }
+
+  /**
+   * Reads length-delimited jobs from the input until it is exhausted, and writes the response to
+   * each job to the output before reading the next one.
+   */
+  public static void serve(InputStream input, OutputStream output) throws IOException {
+    ExtensionRegistry registry = ProtocGeneratorMain.createExtensionRegistry();
+    while (true) {
+      CodeGeneratorRequest request = CodeGeneratorRequest.parseDelimitedFrom(input, registry);
+      if (request == null) {
+        return;
+      }
+      CodeGeneratorResponse response = ProtocGeneratorMain.generate(request);
+      response.writeDelimitedTo(output);
+      output.flush();
+    }
+  }
+}
@@ -14,6 +14,7 @@
  */
 package com.google.api.codegen.common;
 
+import com.google.api.tools.framework.model.DiagCollector;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Map;
@@ -33,4 +34,32 @@ public interface CodeGenerator<T> {
 
   /** Runs code generation and returns a map from relative file paths to generated files. */
   Map<String, GeneratedResult<T>> generate() throws IOException;
+
+  /**
+   * Runs code generation like {@link #generate()}, reporting the diags of this generator to the
+   * given collector. Generators which run concurrently with others are each given their own
+   * collector, so that they neither share a collector nor see the errors of the others.
+   */
+  default Map<String, GeneratedResult<T>> generate(DiagCollector diagCollector)
+      throws IOException {
+    return generate();
+  }
+
+  /**
+   * Runs code generation and passes every generated file to the consumer. Generators which can
+   * produce their files one by one override this to hand each file over as soon as it is ready,
+   * so that it does not need to be held in memory until generation completes.
+   *
+   * @return false if generation failed and did not produce any output.
+   */
+  default boolean generate(GeneratedResultConsumer<T> consumer) throws IOException {
+    Map<String, GeneratedResult<T>> results = generate();
+    if (results == null) {
+      return false;
+    }
+    for (Map.Entry<String, GeneratedResult<T>> entry : results.entrySet()) {
+      consumer.accept(entry.getKey(), entry.getValue());
+    }
+    return true;
+  }
 }
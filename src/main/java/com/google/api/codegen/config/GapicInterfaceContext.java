@@ -25,7 +25,6 @@ import com.google.api.tools.framework.model.Model;
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,7 +36,7 @@ import javax.annotation.Nullable;
  */
 @AutoValue
 public abstract class GapicInterfaceContext implements InterfaceContext {
-  private ImmutableList<MethodModel> interfaceMethods;
+  private GapicInterfaceMethodIndex methodIndex;
 
   public static GapicInterfaceContext create(
       Interface apiInterface,
@@ -62,10 +61,28 @@ public abstract class GapicInterfaceContext implements InterfaceContext {
         typeTable,
         namer,
         featureConfig,
-        createGrpcRerouteMap(protoInterface.getInterface().getModel(), productConfig));
+        productConfig.getGrpcRerouteMap(protoInterface.getInterface().getModel()));
   }
 
-  private static Map<Interface, Interface> createGrpcRerouteMap(
+  /**
+   * Returns a copy of this context with the given product config, type table and namer. The copy
+   * shares the reroute map and method index of this context, which don't depend on them.
+   */
+  private GapicInterfaceContext copy(
+      GapicProductConfig productConfig, ModelTypeTable typeTable, SurfaceNamer namer) {
+    GapicInterfaceContext context =
+        new AutoValue_GapicInterfaceContext(
+            getInterfaceModel(),
+            productConfig,
+            typeTable,
+            namer,
+            getFeatureConfig(),
+            getGrpcRerouteMap());
+    context.methodIndex = methodIndex;
+    return context;
+  }
+
+  static Map<Interface, Interface> createGrpcRerouteMap(
       Model model, GapicProductConfig productConfig) {
     HashMap<Interface, Interface> grpcRerouteMap = new HashMap<>();
     for (Interface apiInterface : ProtoModels.getInterfaces(model, productConfig)) {
@@ -122,22 +139,15 @@ public abstract class GapicInterfaceContext implements InterfaceContext {
 
   @Override
   public GapicInterfaceContext withNewTypeTable() {
-    return create(
-        getInterface(),
-        getProductConfig(),
-        getImportTypeTable().cloneEmpty(),
-        getNamer(),
-        getFeatureConfig());
+    return copy(getProductConfig(), getImportTypeTable().cloneEmpty(), getNamer());
   }
 
   @Override
   public GapicInterfaceContext withNewTypeTable(String packageName) {
-    return create(
-        getInterface(),
+    return copy(
         getProductConfig().withPackageName(packageName),
         getImportTypeTable().cloneEmpty(packageName),
-        getNamer().cloneWithPackageName(packageName),
-        getFeatureConfig());
+        getNamer().cloneWithPackageName(packageName));
   }
 
   @Override
@@ -201,31 +211,16 @@ public abstract class GapicInterfaceContext implements InterfaceContext {
     return methodBuilder.build();
   }
 
-  /** Returns a list of methods for this interface that have method configs. Memoize the result. */
+  /** Returns a list of methods for this interface that have method configs. */
   @Override
   public List<MethodModel> getInterfaceConfigMethods() {
-    if (interfaceMethods != null) {
-      return interfaceMethods;
-    }
-
-    ImmutableList.Builder<MethodModel> methodBuilder = ImmutableList.builder();
-    for (MethodConfig methodConfig : getInterfaceConfig().getMethodConfigs()) {
-      methodBuilder.add(new ProtoMethodModel(((GapicMethodConfig) methodConfig).getMethod()));
-    }
-    interfaceMethods = methodBuilder.build();
-    return interfaceMethods;
+    return getMethodIndex().interfaceConfigMethods();
   }
 
   /** Returns a list of supported methods, configured by FeatureConfig. */
   @Override
   public List<MethodModel> getSupportedMethods() {
-    List<MethodModel> methods = new ArrayList<>(getInterfaceConfig().getMethodConfigs().size());
-    for (MethodModel methodModel : getInterfaceConfigMethods()) {
-      if (isSupported(methodModel)) {
-        methods.add(methodModel);
-      }
-    }
-    return methods;
+    return getMethodIndex().supportedMethods();
   }
 
   /**
@@ -234,14 +229,7 @@ public abstract class GapicInterfaceContext implements InterfaceContext {
    */
   @Override
   public List<MethodModel> getPublicMethods() {
-    List<MethodModel> methods = new ArrayList<>(getInterfaceConfig().getMethodConfigs().size());
-    for (MethodModel method : getInterfaceConfigMethods()) {
-      VisibilityConfig visibility = getInterfaceConfig().getMethodConfig(method).getVisibility();
-      if (isSupported(method) && visibility == VisibilityConfig.PUBLIC) {
-        methods.add(method);
-      }
-    }
-    return methods;
+    return getMethodIndex().publicMethods();
   }
 
   @Override
@@ -255,45 +243,28 @@ public abstract class GapicInterfaceContext implements InterfaceContext {
 
   @Override
   public List<MethodModel> getPageStreamingMethods() {
-    List<MethodModel> methods = new ArrayList<>();
-    for (MethodModel method : getSupportedMethods()) {
-      if (getMethodConfig(method).isPageStreaming()) {
-        methods.add(method);
-      }
-    }
-    return methods;
+    return getMethodIndex().pageStreamingMethods();
   }
 
   @Override
   public List<MethodModel> getBatchingMethods() {
-    List<MethodModel> methods = new ArrayList<>();
-    for (MethodModel method : getSupportedMethods()) {
-      if (getMethodConfig(method).isBatching()) {
-        methods.add(method);
-      }
-    }
-    return methods;
+    return getMethodIndex().batchingMethods();
   }
 
   @Override
   public Iterable<MethodModel> getLongRunningMethods() {
-    List<MethodModel> methods = new ArrayList<>();
-    for (MethodModel method : getSupportedMethods()) {
-      if (getMethodConfig(method).hasLroConfig()) {
-        methods.add(method);
-      }
-    }
-    return methods;
+    return getMethodIndex().longRunningMethods();
   }
 
   public Iterable<MethodModel> getGrpcStreamingMethods() {
-    List<MethodModel> methods = new ArrayList<>();
-    for (MethodModel method : getSupportedMethods()) {
-      if (getMethodConfig(method).isGrpcStreaming()) {
-        methods.add(method);
-      }
+    return getMethodIndex().grpcStreamingMethods();
+  }
+
+  private GapicInterfaceMethodIndex getMethodIndex() {
+    if (methodIndex == null) {
+      methodIndex = getProductConfig().getInterfaceMethodIndex(this);
     }
-    return methods;
+    return methodIndex;
   }
 
   @Override
@@ -0,0 +1,89 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.config;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The methods of an API interface, classified by the features they use. An index only depends on
+ * the interface, its product config and whether gRPC streaming is enabled, so it is computed once
+ * and shared by all the {@link GapicInterfaceContext}s of the interface.
+ */
+@AutoValue
+abstract class GapicInterfaceMethodIndex {
+
+  /** The methods of the interface that have method configs. */
+  abstract ImmutableList<MethodModel> interfaceConfigMethods();
+
+  abstract ImmutableList<MethodModel> supportedMethods();
+
+  abstract ImmutableList<MethodModel> publicMethods();
+
+  abstract ImmutableList<MethodModel> pageStreamingMethods();
+
+  abstract ImmutableList<MethodModel> batchingMethods();
+
+  abstract ImmutableList<MethodModel> longRunningMethods();
+
+  abstract ImmutableList<MethodModel> grpcStreamingMethods();
+
+  /** Classifies the methods of the interface of context, in a single pass over them. */
+  static GapicInterfaceMethodIndex create(GapicInterfaceContext context) {
+    GapicInterfaceConfig interfaceConfig = context.getInterfaceConfig();
+    ImmutableList.Builder<MethodModel> interfaceConfigMethods = ImmutableList.builder();
+    ImmutableList.Builder<MethodModel> supportedMethods = ImmutableList.builder();
+    ImmutableList.Builder<MethodModel> publicMethods = ImmutableList.builder();
+    ImmutableList.Builder<MethodModel> pageStreamingMethods = ImmutableList.builder();
+    ImmutableList.Builder<MethodModel> batchingMethods = ImmutableList.builder();
+    ImmutableList.Builder<MethodModel> longRunningMethods = ImmutableList.builder();
+    ImmutableList.Builder<MethodModel> grpcStreamingMethods = ImmutableList.builder();
+
+    for (MethodConfig interfaceMethodConfig : interfaceConfig.getMethodConfigs()) {
+      MethodModel method =
+          new ProtoMethodModel(((GapicMethodConfig) interfaceMethodConfig).getMethod());
+      interfaceConfigMethods.add(method);
+      if (!context.isSupported(method)) {
+        continue;
+      }
+      supportedMethods.add(method);
+      if (interfaceConfig.getMethodConfig(method).getVisibility() == VisibilityConfig.PUBLIC) {
+        publicMethods.add(method);
+      }
+      GapicMethodConfig methodConfig = context.getMethodConfig(method);
+      if (methodConfig.isPageStreaming()) {
+        pageStreamingMethods.add(method);
+      }
+      if (methodConfig.isBatching()) {
+        batchingMethods.add(method);
+      }
+      if (methodConfig.hasLroConfig()) {
+        longRunningMethods.add(method);
+      }
+      if (methodConfig.isGrpcStreaming()) {
+        grpcStreamingMethods.add(method);
+      }
+    }
+
+    return new AutoValue_GapicInterfaceMethodIndex(
+        interfaceConfigMethods.build(),
+        supportedMethods.build(),
+        publicMethods.build(),
+        pageStreamingMethods.build(),
+        batchingMethods.build(),
+        longRunningMethods.build(),
+        grpcStreamingMethods.build());
+  }
+}
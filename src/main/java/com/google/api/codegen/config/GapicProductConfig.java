@@ -36,12 +36,14 @@ import com.google.api.tools.framework.model.Interface;
 import com.google.api.tools.framework.model.Method;
 import com.google.api.tools.framework.model.Model;
 import com.google.api.tools.framework.model.ProtoFile;
+import com.google.api.tools.framework.model.SimpleDiagCollector;
 import com.google.api.tools.framework.model.SimpleLocation;
 import com.google.api.tools.framework.model.SymbolTable;
 import com.google.api.tools.framework.tools.ToolUtil;
 import com.google.auto.value.AutoValue;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSortedMap;
@@ -49,7 +51,9 @@ import com.google.common.collect.Iterables;
 import com.google.protobuf.Api;
 import com.google.protobuf.DescriptorProtos;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -60,7 +64,14 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
 
@@ -70,6 +81,15 @@ import org.apache.commons.lang3.StringUtils;
  */
 @AutoValue
 public abstract class GapicProductConfig implements ProductConfig {
+  private static final Logger LOGGER = Logger.getLogger(GapicProductConfig.class.getName());
+
+  // Derived from this config on first use, and shared by all the interface contexts created from
+  // it. Not part of the value of this config.
+  private final ConcurrentMap<Model, Map<Interface, Interface>> grpcRerouteMaps =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<List<Object>, GapicInterfaceMethodIndex> interfaceMethodIndices =
+      new ConcurrentHashMap<>();
+
   public abstract ImmutableMap<String, ? extends InterfaceConfig> getInterfaceConfigMap();
 
   /** Returns the package name. */
@@ -82,6 +102,12 @@ public abstract class GapicProductConfig implements ProductConfig {
   /** Returns the release level, if any. */
   public abstract ReleaseLevel getReleaseLevel();
 
+  /**
+   * Returns the number of gRPC connections the generated client pools by default, or 0 if the
+   * client uses a single connection.
+   */
+  public abstract int getGrpcConnectionPoolSize();
+
   /** Returns the resource name messages configuration. If none was specified, returns null. */
   @Nullable
   public abstract ResourceNameMessageConfigs getResourceNameMessageConfigs();
@@ -117,12 +143,36 @@ public abstract class GapicProductConfig implements ProductConfig {
   @Nullable
   public abstract Boolean enableStringFormattingFunctionsOverride();
 
+  /** Returns the map from the gRPC interfaces methods are rerouted to, to their interfaces. */
+  Map<Interface, Interface> getGrpcRerouteMap(Model model) {
+    Map<Interface, Interface> grpcRerouteMap = grpcRerouteMaps.get(model);
+    if (grpcRerouteMap == null) {
+      grpcRerouteMap =
+          Collections.unmodifiableMap(GapicInterfaceContext.createGrpcRerouteMap(model, this));
+      grpcRerouteMaps.putIfAbsent(model, grpcRerouteMap);
+    }
+    return grpcRerouteMap;
+  }
+
+  /** Returns the method index of the interface of context, which is shared by its contexts. */
+  GapicInterfaceMethodIndex getInterfaceMethodIndex(GapicInterfaceContext context) {
+    List<Object> key =
+        Arrays.asList(context.getInterface(), context.getFeatureConfig().enableGrpcStreaming());
+    GapicInterfaceMethodIndex methodIndex = interfaceMethodIndices.get(key);
+    if (methodIndex == null) {
+      methodIndex = GapicInterfaceMethodIndex.create(context);
+      interfaceMethodIndices.putIfAbsent(key, methodIndex);
+    }
+    return methodIndex;
+  }
+
   public GapicProductConfig withPackageName(String packageName) {
     return new AutoValue_GapicProductConfig(
         getInterfaceConfigMap(),
         packageName,
         getDomainLayerLocation(),
         getReleaseLevel(),
+        getGrpcConnectionPoolSize(),
         getResourceNameMessageConfigs(),
         getCopyrightLines(),
         getLicenseLines(),
@@ -159,76 +209,55 @@ public abstract class GapicProductConfig implements ProductConfig {
       @Nullable String protoPackage,
       @Nullable String clientPackage,
       TargetLanguage language) {
+    return create(
+        GapicProductConfigInputs.create(model, configProto, protoPackage), clientPackage, language);
+  }
 
-    final String defaultPackage;
-    SymbolTable symbolTable = model.getSymbolTable();
-
-    if (protoPackage != null) {
-      // Default to using --package option for value of default package and first API protoFile.
-      defaultPackage = protoPackage;
-    } else if (configProto != null) {
-      // Otherwise use configProto to get the proto file containing the first interface listed in
-      // the config proto, and use it as
-      // the assigned file for generated resource names, and to get the default message namespace.
-      ProtoFile file =
-          symbolTable.lookupInterface(configProto.getInterfaces(0).getName()).getFile();
-      defaultPackage = file.getProto().getPackage();
-    } else {
-      throw new NullPointerException("configProto and protoPackage cannot both be null.");
-    }
-
-    List<ProtoFile> sourceProtos =
-        model
-            .getFiles()
-            .stream()
-            .filter(f -> f.getProto().getPackage().equals(defaultPackage))
-            .collect(Collectors.toList());
-
-    if (protoPackage != null && configProto == null) {
-      if (sourceProtos.isEmpty()) {
-        model
-            .getDiagReporter()
-            .getDiagCollector()
-            .addDiag(
-                Diag.error(
-                    SimpleLocation.TOPLEVEL,
-                    "There are no source proto files with package %s",
-                    defaultPackage));
-      }
-      sourceProtos.forEach(model::addRoot);
-    }
-
-    // Toggle on/off proto annotations parsing.
-    ProtoParser protoParser;
-    // TODO(andrealin): Expose command-line option for toggling proto annotations parsing.
-    if (configProto == null) {
-      // By default, enable proto annotations parsing when no GAPIC config is given.
-      protoParser = new ProtoParser(true);
-      configProto = ConfigProto.getDefaultInstance();
-    } else {
-      protoParser = new ProtoParser(false);
-    }
+  /**
+   * Creates an instance of GapicProductConfig for the given language from language independent
+   * inputs, which may be shared between the product configs of several languages. On errors, null
+   * will be returned, and diagnostics are reported to the model.
+   *
+   * @param inputs The language independent inputs, created from the model and the config proto.
+   * @param clientPackage The desired package name for the generated client.
+   * @param language The language that this config will be used to generate a client in.
+   */
+  @Nullable
+  public static GapicProductConfig create(
+      GapicProductConfigInputs inputs, @Nullable String clientPackage, TargetLanguage language) {
+    return create(inputs, clientPackage, language, true);
+  }
 
+  /**
+   * Creates an instance of GapicProductConfig, creating the configs of several interfaces
+   * concurrently only if concurrentInterfaceConfigs is true, so that tests can compare the result
+   * with the sequential one.
+   */
+  @VisibleForTesting
+  @Nullable
+  static GapicProductConfig create(
+      GapicProductConfigInputs inputs,
+      @Nullable String clientPackage,
+      TargetLanguage language,
+      boolean concurrentInterfaceConfigs) {
+    Model model = inputs.getModel();
+    String protoPackage = inputs.getProtoPackage();
+    String defaultPackage = inputs.getDefaultPackage();
+    ConfigProto configProto = inputs.getConfigProto();
+    List<ProtoFile> sourceProtos = inputs.getSourceProtos();
+    ProtoParser protoParser = inputs.getProtoParser();
+    ResourceNameMessageConfigs messageConfigs = inputs.getMessageConfigs();
+    SymbolTable symbolTable = model.getSymbolTable();
     DiagCollector diagCollector = model.getDiagReporter().getDiagCollector();
 
-    Map<Resource, ProtoFile> resourceDefs =
-        protoParser.getResourceDefs(sourceProtos, diagCollector);
-    Map<ResourceSet, ProtoFile> resourceSetDefs =
-        protoParser.getResourceSetDefs(sourceProtos, diagCollector);
-
-    // Get list of fields from proto
-    ResourceNameMessageConfigs messageConfigs =
-        ResourceNameMessageConfigs.createMessageResourceTypesConfig(
-            sourceProtos, configProto, defaultPackage, resourceDefs, resourceSetDefs, protoParser);
-
     ImmutableMap<String, ResourceNameConfig> resourceNameConfigs =
         createResourceNameConfigs(
             diagCollector,
             configProto,
             sourceProtos,
             language,
-            resourceDefs,
-            resourceSetDefs,
+            inputs.getResourceDefs(),
+            inputs.getResourceSetDefs(),
             protoParser);
 
     if (resourceNameConfigs == null) {
@@ -282,7 +311,8 @@ public abstract class GapicProductConfig implements ProductConfig {
             messageConfigs,
             resourceNameConfigs,
             language,
-            protoParser);
+            protoParser,
+            concurrentInterfaceConfigs);
 
     ImmutableList<String> copyrightLines;
     ImmutableList<String> licenseLines;
@@ -320,6 +350,18 @@ public abstract class GapicProductConfig implements ProductConfig {
           configProto.getEnableStringFormatFunctionsOverride().getValue();
     }
 
+    if (settings.getGrpcConnectionPoolSize() < 0) {
+      model
+          .getDiagReporter()
+          .getDiagCollector()
+          .addDiag(
+              Diag.error(
+                  SimpleLocation.TOPLEVEL,
+                  "grpc_connection_pool_size must not be negative, was %d.",
+                  settings.getGrpcConnectionPoolSize()));
+      return null;
+    }
+
     if (interfaceConfigMap == null || copyrightLines == null || licenseLines == null) {
       return null;
     }
@@ -328,6 +370,7 @@ public abstract class GapicProductConfig implements ProductConfig {
         clientPackageName,
         settings.getDomainLayerLocation(),
         settings.getReleaseLevel(),
+        settings.getGrpcConnectionPoolSize(),
         messageConfigs,
         copyrightLines,
         licenseLines,
@@ -401,6 +444,7 @@ public abstract class GapicProductConfig implements ProductConfig {
         settings.getPackageName(),
         settings.getDomainLayerLocation(),
         settings.getReleaseLevel(),
+        settings.getGrpcConnectionPoolSize(),
         messageConfigs,
         copyrightLines,
         licenseLines,
@@ -441,6 +485,7 @@ public abstract class GapicProductConfig implements ProductConfig {
         packageName,
         domainLayerLocation,
         ReleaseLevel.UNSET_RELEASE_LEVEL,
+        0,
         messageConfigs,
         ImmutableList.of(),
         ImmutableList.of(),
@@ -625,29 +670,46 @@ public abstract class GapicProductConfig implements ProductConfig {
       ResourceNameMessageConfigs messageConfigs,
       ImmutableMap<String, ResourceNameConfig> resourceNameConfigs,
       TargetLanguage language,
-      ProtoParser protoParser) {
+      ProtoParser protoParser,
+      boolean concurrently) {
     // Return value; maps interface names to their InterfaceConfig.
     ImmutableMap.Builder<String, InterfaceConfig> interfaceConfigMap = ImmutableMap.builder();
 
-    for (GapicInterfaceInput interfaceInput : interfaceInputs) {
-
-      String serviceFullName = interfaceInput.getServiceFullName();
-      String interfaceNameOverride = languageSettings.getInterfaceNamesMap().get(serviceFullName);
-
-      GapicInterfaceConfig interfaceConfig =
-          GapicInterfaceConfig.createInterfaceConfig(
+    List<GapicInterfaceConfig> interfaceConfigs = null;
+    if (concurrently && interfaceInputs.size() > 1 && diagCollector.getErrorCount() == 0) {
+      interfaceConfigs =
+          createInterfaceConfigsConcurrently(
               diagCollector,
-              language,
+              interfaceInputs,
               defaultPackageName,
-              interfaceInput,
-              interfaceNameOverride,
+              languageSettings,
               messageConfigs,
               resourceNameConfigs,
+              language,
               protoParser);
+    }
+    if (interfaceConfigs == null) {
+      interfaceConfigs = new ArrayList<>();
+      for (GapicInterfaceInput interfaceInput : interfaceInputs) {
+        interfaceConfigs.add(
+            createInterfaceConfig(
+                diagCollector,
+                interfaceInput,
+                defaultPackageName,
+                languageSettings,
+                messageConfigs,
+                resourceNameConfigs,
+                language,
+                protoParser));
+      }
+    }
+
+    for (int i = 0; i < interfaceInputs.size(); i++) {
+      GapicInterfaceConfig interfaceConfig = interfaceConfigs.get(i);
       if (interfaceConfig == null) {
         continue;
       }
-      interfaceConfigMap.put(serviceFullName, interfaceConfig);
+      interfaceConfigMap.put(interfaceInputs.get(i).getServiceFullName(), interfaceConfig);
     }
 
     if (diagCollector.getErrorCount() > 0) {
@@ -657,6 +719,107 @@ public abstract class GapicProductConfig implements ProductConfig {
     }
   }
 
+  /**
+   * Creates the configs of the given interfaces concurrently, which is possible as each interface
+   * only depends on the shared message and resource name configs. Each interface reports its diags
+   * to its own collector, and those diags are then added to diagCollector in interface order, so
+   * the diags don't depend on scheduling.
+   *
+   * <p>Returns null, without adding any diag, if any interface reports an error. Sequentially, an
+   * error in an interface stops the construction of those after it at their first error check, so
+   * the caller creates the configs again, sequentially, to report the same diags.
+   */
+  @Nullable
+  private static List<GapicInterfaceConfig> createInterfaceConfigsConcurrently(
+      DiagCollector diagCollector,
+      List<GapicInterfaceInput> interfaceInputs,
+      String defaultPackageName,
+      LanguageSettingsProto languageSettings,
+      ResourceNameMessageConfigs messageConfigs,
+      ImmutableMap<String, ResourceNameConfig> resourceNameConfigs,
+      TargetLanguage language,
+      ProtoParser protoParser) {
+    List<SimpleDiagCollector> interfaceDiagCollectors = new ArrayList<>();
+    for (int i = 0; i < interfaceInputs.size(); i++) {
+      interfaceDiagCollectors.add(new SimpleDiagCollector());
+    }
+
+    ForkJoinPool pool =
+        new ForkJoinPool(
+            Math.min(Runtime.getRuntime().availableProcessors(), interfaceInputs.size()));
+    List<GapicInterfaceConfig> interfaceConfigs;
+    try {
+      interfaceConfigs =
+          pool.submit(
+                  () ->
+                      IntStream.range(0, interfaceInputs.size())
+                          .parallel()
+                          .mapToObj(
+                              i ->
+                                  createInterfaceConfig(
+                                      interfaceDiagCollectors.get(i),
+                                      interfaceInputs.get(i),
+                                      defaultPackageName,
+                                      languageSettings,
+                                      messageConfigs,
+                                      resourceNameConfigs,
+                                      language,
+                                      protoParser))
+                          .collect(Collectors.toList()))
+              .get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while creating interface configs", e);
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      pool.shutdown();
+    }
+
+    for (SimpleDiagCollector interfaceDiagCollector : interfaceDiagCollectors) {
+      if (interfaceDiagCollector.getErrorCount() > 0) {
+        return null;
+      }
+    }
+    for (SimpleDiagCollector interfaceDiagCollector : interfaceDiagCollectors) {
+      for (Diag diag : interfaceDiagCollector.getDiags()) {
+        diagCollector.addDiag(diag);
+      }
+    }
+    return interfaceConfigs;
+  }
+
+  @Nullable
+  private static GapicInterfaceConfig createInterfaceConfig(
+      DiagCollector diagCollector,
+      GapicInterfaceInput interfaceInput,
+      String defaultPackageName,
+      LanguageSettingsProto languageSettings,
+      ResourceNameMessageConfigs messageConfigs,
+      ImmutableMap<String, ResourceNameConfig> resourceNameConfigs,
+      TargetLanguage language,
+      ProtoParser protoParser) {
+    String serviceFullName = interfaceInput.getServiceFullName();
+    String interfaceNameOverride = languageSettings.getInterfaceNamesMap().get(serviceFullName);
+
+    long startNanos = System.nanoTime();
+    GapicInterfaceConfig interfaceConfig =
+        GapicInterfaceConfig.createInterfaceConfig(
+            diagCollector,
+            language,
+            defaultPackageName,
+            interfaceInput,
+            interfaceNameOverride,
+            messageConfigs,
+            resourceNameConfigs,
+            protoParser);
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    LOGGER.fine(
+        () -> String.format("Created the config of %s in %d ms", serviceFullName, elapsedMillis));
+    return interfaceConfig;
+  }
+
   private static ImmutableMap<String, InterfaceConfig> createDiscoGapicInterfaceConfigMap(
       DiscoApiModel model,
       ConfigProto configProto,
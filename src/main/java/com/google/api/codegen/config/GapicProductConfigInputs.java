@@ -0,0 +1,148 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.config;
+
+import com.google.api.Resource;
+import com.google.api.ResourceSet;
+import com.google.api.codegen.ConfigProto;
+import com.google.api.codegen.util.ProtoParser;
+import com.google.api.tools.framework.model.Diag;
+import com.google.api.tools.framework.model.DiagCollector;
+import com.google.api.tools.framework.model.Model;
+import com.google.api.tools.framework.model.ProtoFile;
+import com.google.api.tools.framework.model.SimpleLocation;
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+
+/**
+ * The language independent inputs of a GapicProductConfig: the source protos, their resource
+ * definitions and the resource name message configs. They are built once per model and can be
+ * shared by the product configs of several target languages.
+ */
+@AutoValue
+public abstract class GapicProductConfigInputs {
+
+  public abstract Model getModel();
+
+  /** Returns the --package option value, if it was given. */
+  @Nullable
+  public abstract String getProtoPackage();
+
+  /** Returns the package of the proto files clients are generated for. */
+  public abstract String getDefaultPackage();
+
+  /** Returns the GAPIC config, or the default instance if no GAPIC config was given. */
+  public abstract ConfigProto getConfigProto();
+
+  public abstract ImmutableList<ProtoFile> getSourceProtos();
+
+  public abstract ProtoParser getProtoParser();
+
+  public abstract ImmutableMap<Resource, ProtoFile> getResourceDefs();
+
+  public abstract ImmutableMap<ResourceSet, ProtoFile> getResourceSetDefs();
+
+  public abstract ResourceNameMessageConfigs getMessageConfigs();
+
+  /**
+   * Creates the language independent product config inputs. Errors are reported to the model.
+   *
+   * @param model The protobuf model for which we are creating a config.
+   * @param configProto The parsed set of config files from input
+   * @param protoPackage The source proto package, as opposed to imported protos, that we will
+   *     generate clients for.
+   */
+  public static GapicProductConfigInputs create(
+      Model model, @Nullable ConfigProto configProto, @Nullable String protoPackage) {
+
+    final String defaultPackage;
+
+    if (protoPackage != null) {
+      // Default to using --package option for value of default package and first API protoFile.
+      defaultPackage = protoPackage;
+    } else if (configProto != null) {
+      // Otherwise use configProto to get the proto file containing the first interface listed in
+      // the config proto, and use it as
+      // the assigned file for generated resource names, and to get the default message namespace.
+      ProtoFile file =
+          model
+              .getSymbolTable()
+              .lookupInterface(configProto.getInterfaces(0).getName())
+              .getFile();
+      defaultPackage = file.getProto().getPackage();
+    } else {
+      throw new NullPointerException("configProto and protoPackage cannot both be null.");
+    }
+
+    List<ProtoFile> sourceProtos =
+        model
+            .getFiles()
+            .stream()
+            .filter(f -> f.getProto().getPackage().equals(defaultPackage))
+            .collect(Collectors.toList());
+
+    if (protoPackage != null && configProto == null) {
+      if (sourceProtos.isEmpty()) {
+        model
+            .getDiagReporter()
+            .getDiagCollector()
+            .addDiag(
+                Diag.error(
+                    SimpleLocation.TOPLEVEL,
+                    "There are no source proto files with package %s",
+                    defaultPackage));
+      }
+      sourceProtos.forEach(model::addRoot);
+    }
+
+    // Toggle on/off proto annotations parsing.
+    ProtoParser protoParser;
+    // TODO(andrealin): Expose command-line option for toggling proto annotations parsing.
+    if (configProto == null) {
+      // By default, enable proto annotations parsing when no GAPIC config is given.
+      protoParser = new ProtoParser(true);
+      configProto = ConfigProto.getDefaultInstance();
+    } else {
+      protoParser = new ProtoParser(false);
+    }
+
+    DiagCollector diagCollector = model.getDiagReporter().getDiagCollector();
+
+    ImmutableMap<Resource, ProtoFile> resourceDefs =
+        ImmutableMap.copyOf(protoParser.getResourceDefs(sourceProtos, diagCollector));
+    ImmutableMap<ResourceSet, ProtoFile> resourceSetDefs =
+        ImmutableMap.copyOf(protoParser.getResourceSetDefs(sourceProtos, diagCollector));
+
+    // Get list of fields from proto
+    ResourceNameMessageConfigs messageConfigs =
+        ResourceNameMessageConfigs.createMessageResourceTypesConfig(
+            sourceProtos, configProto, defaultPackage, resourceDefs, resourceSetDefs, protoParser);
+
+    return new AutoValue_GapicProductConfigInputs(
+        model,
+        protoPackage,
+        defaultPackage,
+        configProto,
+        ImmutableList.copyOf(sourceProtos),
+        protoParser,
+        resourceDefs,
+        resourceSetDefs,
+        messageConfigs);
+  }
+}
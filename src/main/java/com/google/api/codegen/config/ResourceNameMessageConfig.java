@@ -14,18 +14,15 @@
  */
 package com.google.api.codegen.config;
 
-import com.google.api.Resource;
-import com.google.api.ResourceSet;
 import com.google.api.codegen.ResourceNameMessageConfigProto;
 import com.google.api.codegen.util.Name;
 import com.google.api.codegen.util.ProtoParser;
+import com.google.api.codegen.util.ResourceReferenceIndex;
 import com.google.api.tools.framework.model.Field;
 import com.google.api.tools.framework.model.MessageType;
-import com.google.api.tools.framework.model.ProtoFile;
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
-import java.util.Map;
 
 /** Configuration of the resource name types for fields of a single message. */
 @AutoValue
@@ -49,10 +46,7 @@ public abstract class ResourceNameMessageConfig {
   }
 
   static ResourceNameMessageConfig createResourceNameMessageConfig(
-      MessageType message,
-      Map<Resource, ProtoFile> allResources,
-      Map<ResourceSet, ProtoFile> allResourceSets,
-      ProtoParser protoParser) {
+      MessageType message, ResourceReferenceIndex resourceIndex, ProtoParser protoParser) {
     ImmutableMap.Builder<String, String> builder = ImmutableMap.builder();
     for (Field field : message.getFields()) {
       String baseName = protoParser.getResourceOrSetEntityName(field);
@@ -61,8 +55,7 @@ public abstract class ResourceNameMessageConfig {
         continue;
       }
 
-      String resourceType =
-          protoParser.getResourceReferenceName(field, allResources, allResourceSets);
+      String resourceType = protoParser.getResourceReferenceName(field, resourceIndex);
       if (!Strings.isNullOrEmpty(resourceType)) {
         builder.put(field.getSimpleName(), resourceType);
       }
@@ -22,6 +22,7 @@ import com.google.api.codegen.discogapic.transformer.DiscoGapicNamer;
 import com.google.api.codegen.discovery.Method;
 import com.google.api.codegen.discovery.Schema;
 import com.google.api.codegen.util.ProtoParser;
+import com.google.api.codegen.util.ResourceReferenceIndex;
 import com.google.api.tools.framework.model.Field;
 import com.google.api.tools.framework.model.MessageType;
 import com.google.api.tools.framework.model.ProtoFile;
@@ -71,12 +72,17 @@ public abstract class ResourceNameMessageConfigs {
       ProtoParser protoParser) {
     Map<String, ResourceNameMessageConfig> builder = new HashMap<>();
 
-    // Get ResourceNameMessageConfigs from proto annotations.
+    // Get ResourceNameMessageConfigs from proto annotations. Resource references are resolved
+    // against an index, built once, rather than by scanning all resource definitions per field.
+    ResourceReferenceIndex resourceIndex =
+        protoFiles.isEmpty()
+            ? null
+            : protoParser.createResourceReferenceIndex(resourceDefs, resourceSetDefs);
     for (ProtoFile protoFile : protoFiles) {
       for (MessageType message : protoFile.getMessages()) {
         ResourceNameMessageConfig resourceNameMessageConfig =
             ResourceNameMessageConfig.createResourceNameMessageConfig(
-                message, resourceDefs, resourceSetDefs, protoParser);
+                message, resourceIndex, protoParser);
         if (resourceNameMessageConfig != null) {
           builder.put(message.getFullName(), resourceNameMessageConfig);
         }
@@ -21,9 +21,13 @@ import com.google.api.codegen.SampleValueSet;
 import com.google.api.codegen.util.Name;
 import com.google.api.codegen.viewmodel.CallingForm;
 import com.google.auto.value.AutoValue;
-import java.util.ArrayList;
+import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
@@ -42,6 +46,13 @@ public class SampleSpec {
   /** Whether samples have been specified (ie. need to be emitted) for this method. */
   private final boolean specified;
 
+  /** The compiled calling form and value set expressions, by expression. */
+  private final ConcurrentMap<String, Pattern> expressionPatterns = new ConcurrentHashMap<>();
+
+  /** The memoized results of {@code getMatchingValueSets}, by sample type and calling form. */
+  private final ConcurrentMap<List<Object>, ImmutableList<ValueSetAndTags>> matchingValueSets =
+      new ConcurrentHashMap<>();
+
   /** The various types of supported samples. */
   public enum SampleType {
     IN_CODE,
@@ -107,8 +118,13 @@ public class SampleSpec {
    * @param id The ID to be matched against the regex
    * @return True iff id matches expression
    */
-  private static boolean expressionMatchesId(String expression, String id) {
-    return id.matches(expression);
+  private boolean expressionMatchesId(String expression, String id) {
+    Pattern pattern = expressionPatterns.get(expression);
+    if (pattern == null) {
+      pattern = Pattern.compile(expression);
+      expressionPatterns.putIfAbsent(expression, pattern);
+    }
+    return pattern.matcher(id).matches();
   }
 
   /**
@@ -119,6 +135,17 @@ public class SampleSpec {
    * @return A set of SampleValueSets for methodForm andSampleType
    */
   public List<ValueSetAndTags> getMatchingValueSets(CallingForm methodForm, SampleType sampleType) {
+    List<Object> key = Arrays.asList(sampleType, methodForm);
+    ImmutableList<ValueSetAndTags> result = matchingValueSets.get(key);
+    if (result == null) {
+      result = findMatchingValueSets(methodForm, sampleType);
+      matchingValueSets.putIfAbsent(key, result);
+    }
+    return result;
+  }
+
+  private ImmutableList<ValueSetAndTags> findMatchingValueSets(
+      CallingForm methodForm, SampleType sampleType) {
     String methodFormString = Name.anyCamel(methodForm.toString()).toLowerUnderscore();
 
     // Get the `SampleTypeConfigs` configured for this `methodForm`.
@@ -134,7 +161,7 @@ public class SampleSpec {
             .collect(Collectors.toList());
 
     // Construct a `ValueSetAndTags` for each sample specified in each element of `matchingSamples`.
-    List<ValueSetAndTags> result = new ArrayList<>();
+    ImmutableList.Builder<ValueSetAndTags> result = ImmutableList.builder();
     for (SampleValueSet vset : valueSets) {
       for (SampleTypeConfiguration sample : matchingSamples) {
         for (String valueSetExpression : sample.getValueSetsList()) {
@@ -145,7 +172,7 @@ public class SampleSpec {
         }
       }
     }
-    return result;
+    return result.build();
   }
 
   /** Returns the single {@code SampleTypeConfiguration} for the specified {@code sampleType}. */
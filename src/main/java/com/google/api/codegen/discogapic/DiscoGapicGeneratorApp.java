@@ -14,7 +14,7 @@
  */
 package com.google.api.codegen.discogapic;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.api.codegen.ArtifactType;
 import com.google.api.codegen.ConfigProto;
@@ -27,7 +27,6 @@ import com.google.api.codegen.config.DiscoApiModel;
 import com.google.api.codegen.config.GapicProductConfig;
 import com.google.api.codegen.config.PackageMetadataConfig;
 import com.google.api.codegen.config.PackagingConfig;
-import com.google.api.codegen.discovery.DiscoveryNode;
 import com.google.api.codegen.discovery.Document;
 import com.google.api.codegen.gapic.ArtifactFlags;
 import com.google.api.codegen.util.MultiYamlReader;
@@ -113,8 +112,10 @@ public class DiscoGapicGeneratorApp {
     }
     Reader reader = new InputStreamReader(new FileInputStream(new File(discoveryDocPath)));
 
-    ObjectMapper mapper = new ObjectMapper();
-    JsonNode root = mapper.readTree(reader);
+    Document document;
+    try (JsonParser parser = new ObjectMapper().getFactory().createParser(reader)) {
+      document = Document.from(parser);
+    }
 
     // Read the YAML config and convert it to proto.
     if (configFileNames.size() == 0) {
@@ -152,8 +153,7 @@ public class DiscoGapicGeneratorApp {
     String defaultPackageName =
         configProto.getLanguageSettingsMap().get(languageStr).getPackageName();
 
-    DiscoApiModel model =
-        new DiscoApiModel(Document.from(new DiscoveryNode(root)), defaultPackageName);
+    DiscoApiModel model = new DiscoApiModel(document, defaultPackageName);
 
     GapicProductConfig productConfig = GapicProductConfig.create(model, configProto, language);
 
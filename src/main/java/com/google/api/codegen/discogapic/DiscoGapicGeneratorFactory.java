@@ -61,12 +61,13 @@ public class DiscoGapicGeneratorFactory {
                   .setPrefix("src/main/java")
                   .setShouldAppendPackage(true)
                   .build();
+          boolean enableJsonCodecs = artifactFlags.jsonCodecsEnabled();
           List<ModelToViewTransformer<DiscoApiModel>> transformers =
               Arrays.asList(
                   new JavaDiscoGapicResourceNameToViewTransformer(javaPathMapper),
-                  new JavaDiscoGapicSchemaToViewTransformer(javaPathMapper),
+                  new JavaDiscoGapicSchemaToViewTransformer(javaPathMapper, enableJsonCodecs),
                   new JavaDiscoGapicRequestToViewTransformer(javaPathMapper),
-                  new JavaDiscoGapicSurfaceTransformer(javaPathMapper));
+                  new JavaDiscoGapicSurfaceTransformer(javaPathMapper, enableJsonCodecs));
           DiscoGapicGenerator generator =
               DiscoGapicGenerator.newBuilder()
                   .setDiscoApiModel(model)
@@ -14,9 +14,8 @@
  */
 package com.google.api.codegen.discogapic;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.api.codegen.discovery.DiscoveryNode;
 import com.google.api.codegen.discovery.Document;
 import com.google.api.tools.framework.model.Diag;
 import com.google.api.tools.framework.model.DiagCollector;
@@ -36,9 +35,9 @@ public class DocumentGenerator {
     }
 
     Reader reader = new InputStreamReader(new FileInputStream(new File(discoveryDocPath)));
-    ObjectMapper mapper = new ObjectMapper();
-    JsonNode root = mapper.readTree(reader);
-    return Document.from(new DiscoveryNode(root));
+    try (JsonParser parser = new ObjectMapper().getFactory().createParser(reader)) {
+      return Document.from(parser);
+    }
   }
 
   public static Document createDocumentAndLog(String discoveryDocPath, DiagCollector diagCollector)
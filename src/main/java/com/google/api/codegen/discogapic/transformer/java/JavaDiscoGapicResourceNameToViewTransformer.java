@@ -41,6 +41,7 @@ import com.google.api.codegen.util.Name;
 import com.google.api.codegen.util.SymbolTable;
 import com.google.api.codegen.util.java.JavaNameFormatter;
 import com.google.api.codegen.util.java.JavaTypeTable;
+import com.google.api.codegen.viewmodel.ResourceNamePathSegmentView;
 import com.google.api.codegen.viewmodel.StaticLangApiResourceNameFileView;
 import com.google.api.codegen.viewmodel.StaticLangApiResourceNameView;
 import com.google.api.codegen.viewmodel.StaticLangMemberView;
@@ -56,6 +57,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import javax.annotation.Nullable;
 
 /* Creates the ViewModel for Discovery-Doc-based ResourceName and ResourceTypeName Java classes. */
 public class JavaDiscoGapicResourceNameToViewTransformer
@@ -119,9 +121,12 @@ public class JavaDiscoGapicResourceNameToViewTransformer
           continue;
         }
         Method method = namePatternsToMethod.get(namePattern);
+        // Classes with and without a specialized path need different pathtemplate imports, so
+        // each file collects its imports in its own type table.
+        SchemaTransformationContext fileContext = requestContext.withNewTypeTable();
         StaticLangApiResourceNameView resourceNameView =
-            generateResourceNameClass(requestContext, method, nameConfig);
-        surfaceRequests.add(generateResourceNameFile(requestContext, resourceNameView));
+            generateResourceNameClass(fileContext, method, nameConfig);
+        surfaceRequests.add(generateResourceNameFile(fileContext, resourceNameView));
 
         namePatterns.add(nameConfig.getNamePattern());
       }
@@ -144,7 +149,7 @@ public class JavaDiscoGapicResourceNameToViewTransformer
     StaticLangApiResourceNameFileView.Builder apiFile =
         StaticLangApiResourceNameFileView.newBuilder();
     apiFile.templateFileName(RESOURCE_NAME_TEMPLATE_FILENAME);
-    addResourceNameClassImports(context.getImportTypeTable());
+    addResourceNameClassImports(context.getImportTypeTable(), messageView);
     apiFile.resourceName(messageView);
 
     String outputPath = pathMapper.getOutputPath(null, context.getDocContext().getProductConfig());
@@ -179,9 +184,83 @@ public class JavaDiscoGapicResourceNameToViewTransformer
     Collections.sort(properties);
     resourceNameView.pathParams(properties);
 
+    List<ResourceNamePathSegmentView> pathSegments =
+        generatePathSegments(nameConfig.getNamePattern(), properties);
+    resourceNameView.specializedPath(pathSegments != null);
+    resourceNameView.pathSegments(pathSegments != null ? pathSegments : Collections.emptyList());
+    resourceNameView.pathLiteralLength(
+        pathSegments != null
+            ? pathSegments
+                .stream()
+                .filter(segment -> !segment.isVariable())
+                .mapToInt(ResourceNamePathSegmentView::length)
+                .sum()
+            : 0);
+
     return resourceNameView.build();
   }
 
+  /**
+   * Splits the path template into the variables and the literal text between them, which the
+   * generated resource name class matches and formats directly. Returns null if the template can
+   * only be handled by PathTemplate, e.g. because it has wildcards or variables that are not path
+   * params.
+   */
+  @Nullable
+  private static List<ResourceNamePathSegmentView> generatePathSegments(
+      String pathTemplate, List<StaticLangMemberView> pathParams) {
+    Set<String> unmatchedParams = new HashSet<>();
+    for (StaticLangMemberView param : pathParams) {
+      unmatchedParams.add(param.name());
+    }
+
+    // Alternating literal text and variable names; literal text is empty between two variables.
+    List<String> runs = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    String[] parts = pathTemplate.split("/", -1);
+    for (int i = 0; i < parts.length; i++) {
+      String part = parts[i];
+      if (i > 0) {
+        literal.append('/');
+      }
+      if (part.startsWith("{") && part.endsWith("}")) {
+        String variable = part.substring(1, part.length() - 1);
+        if (!unmatchedParams.remove(variable)) {
+          return null;
+        }
+        runs.add(literal.toString());
+        runs.add(variable);
+        literal.setLength(0);
+      } else if (part.isEmpty() || part.contains("{") || part.contains("}") || part.contains("*")) {
+        return null;
+      } else {
+        literal.append(part);
+      }
+    }
+    runs.add(literal.toString());
+    if (!unmatchedParams.isEmpty()) {
+      return null;
+    }
+
+    List<ResourceNamePathSegmentView> segments = new ArrayList<>();
+    int lastRun = runs.get(runs.size() - 1).isEmpty() ? runs.size() - 2 : runs.size() - 1;
+    for (int i = 0; i <= lastRun; i++) {
+      boolean isVariable = i % 2 == 1;
+      String value = runs.get(i);
+      if (!isVariable && value.isEmpty()) {
+        continue;
+      }
+      segments.add(
+          ResourceNamePathSegmentView.newBuilder()
+              .isVariable(isVariable)
+              .value(value)
+              .length(isVariable ? 0 : value.length())
+              .isLast(i == lastRun)
+              .build());
+    }
+    return segments;
+  }
+
   // Transforms a request/response Schema object into a StaticLangApiResourceNameView.
   private StaticLangMemberView schemaToParamView(
       SchemaTransformationContext context, Schema schema, SymbolTable symbolTable) {
@@ -204,11 +283,16 @@ public class JavaDiscoGapicResourceNameToViewTransformer
     return paramView.build();
   }
 
-  private void addResourceNameClassImports(ImportTypeTable typeTable) {
+  private void addResourceNameClassImports(
+      ImportTypeTable typeTable, StaticLangApiResourceNameView resourceNameView) {
     typeTable.getAndSaveNicknameFor("com.google.api.core.BetaApi");
     typeTable.getAndSaveNicknameFor("com.google.common.base.Preconditions");
     typeTable.getAndSaveNicknameFor("com.google.common.collect.ImmutableMap");
-    typeTable.getAndSaveNicknameFor("com.google.api.pathtemplate.PathTemplate");
+    if (resourceNameView.specializedPath()) {
+      typeTable.getAndSaveNicknameFor("com.google.api.pathtemplate.ValidationException");
+    } else {
+      typeTable.getAndSaveNicknameFor("com.google.api.pathtemplate.PathTemplate");
+    }
     typeTable.getAndSaveNicknameFor("com.google.api.resourcenames.ResourceName");
     typeTable.getAndSaveNicknameFor("com.google.api.resourcenames.ResourceNameFactory");
     typeTable.getAndSaveNicknameFor("java.io.IOException");
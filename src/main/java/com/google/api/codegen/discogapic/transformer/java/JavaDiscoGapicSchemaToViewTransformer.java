@@ -22,6 +22,7 @@ import com.google.api.codegen.config.DiscoveryField;
 import com.google.api.codegen.config.GapicProductConfig;
 import com.google.api.codegen.discogapic.SchemaTransformationContext;
 import com.google.api.codegen.discovery.Schema;
+import com.google.api.codegen.discovery.Schema.Format;
 import com.google.api.codegen.discovery.Schema.Type;
 import com.google.api.codegen.gapic.GapicCodePathMapper;
 import com.google.api.codegen.transformer.FileHeaderTransformer;
@@ -37,9 +38,13 @@ import com.google.api.codegen.util.Name;
 import com.google.api.codegen.util.SymbolTable;
 import com.google.api.codegen.util.java.JavaNameFormatter;
 import com.google.api.codegen.util.java.JavaTypeTable;
+import com.google.api.codegen.viewmodel.JsonCodecFieldView;
+import com.google.api.codegen.viewmodel.JsonCodecView;
+import com.google.api.codegen.viewmodel.JsonValueKind;
 import com.google.api.codegen.viewmodel.StaticLangApiMessageFileView;
 import com.google.api.codegen.viewmodel.StaticLangApiMessageView;
 import com.google.api.codegen.viewmodel.ViewModel;
+import com.google.common.annotations.VisibleForTesting;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -56,6 +61,7 @@ import java.util.TreeMap;
 public class JavaDiscoGapicSchemaToViewTransformer
     implements ModelToViewTransformer<DiscoApiModel> {
   private final GapicCodePathMapper pathMapper;
+  private final boolean enableJsonCodecs;
   private final StandardImportSectionTransformer importSectionTransformer =
       new StandardImportSectionTransformer();
   private final FileHeaderTransformer fileHeaderTransformer =
@@ -69,12 +75,26 @@ public class JavaDiscoGapicSchemaToViewTransformer
   }
 
   private static final String SCHEMA_TEMPLATE_FILENAME = "java/message.snip";
+  private static final String JSON_CODEC_TEMPLATE_FILENAME = "java/json_codec.snip";
 
   public JavaDiscoGapicSchemaToViewTransformer(GapicCodePathMapper pathMapper) {
+    this(pathMapper, false);
+  }
+
+  /**
+   * Creates a transformer that also generates a JSON codec class for every schema class if
+   * enableJsonCodecs is set.
+   */
+  public JavaDiscoGapicSchemaToViewTransformer(
+      GapicCodePathMapper pathMapper, boolean enableJsonCodecs) {
     this.pathMapper = pathMapper;
+    this.enableJsonCodecs = enableJsonCodecs;
   }
 
   public List<String> getTemplateFileNames() {
+    if (enableJsonCodecs) {
+      return Arrays.asList(SCHEMA_TEMPLATE_FILENAME, JSON_CODEC_TEMPLATE_FILENAME);
+    }
     return Arrays.asList(SCHEMA_TEMPLATE_FILENAME);
   }
 
@@ -98,6 +118,9 @@ public class JavaDiscoGapicSchemaToViewTransformer
       for (Map.Entry<SchemaTransformationContext, StaticLangApiMessageView> contextView :
           contextViews.entrySet()) {
         surfaceSchemas.add(generateSchemaFile(contextView.getKey(), contextView.getValue()));
+        if (contextView.getValue().hasJsonCodec()) {
+          surfaceSchemas.add(generateJsonCodecFile(contextView.getKey(), contextView.getValue()));
+        }
       }
     }
     Collections.sort(
@@ -135,6 +158,24 @@ public class JavaDiscoGapicSchemaToViewTransformer
     return apiFile.build();
   }
 
+  /* Given a message view with a JSON codec, creates the file view of the codec class. */
+  private StaticLangApiMessageFileView generateJsonCodecFile(
+      SchemaTransformationContext messageContext, StaticLangApiMessageView messageView) {
+    SchemaTransformationContext context = messageContext.withNewTypeTable();
+    StaticLangApiMessageFileView.Builder apiFile = StaticLangApiMessageFileView.newBuilder();
+    apiFile.templateFileName(JSON_CODEC_TEMPLATE_FILENAME);
+    addJsonCodecImports(context.getSchemaTypeTable(), messageView.jsonCodec());
+    apiFile.schema(messageView);
+
+    String outputPath = pathMapper.getOutputPath(null, context.getDocContext().getProductConfig());
+    apiFile.outputPath(outputPath + File.separator + messageView.jsonCodec().name() + ".java");
+
+    // must be done as the last step to catch all imports
+    apiFile.fileHeader(fileHeaderTransformer.generateFileHeader(context));
+
+    return apiFile.build();
+  }
+
   private StaticLangApiMessageView generateSchemaClasses(
       Map<SchemaTransformationContext, StaticLangApiMessageView> messageViewAccumulator,
       DiscoGapicInterfaceContext documentContext,
@@ -167,21 +208,29 @@ public class JavaDiscoGapicSchemaToViewTransformer
     String schemaTypeName = schemaTypeTable.getAndSaveNicknameFor(schemaModel);
 
     schemaView.typeName(schemaTypeName);
+    String innerTypeName;
     if (schema.repeated() || schema.type() == Type.ARRAY) {
-      schemaView.innerTypeName(schemaTypeTable.getInnerTypeNameFor(schemaModel));
+      innerTypeName = schemaTypeTable.getInnerTypeNameFor(schemaModel);
     } else {
-      schemaView.innerTypeName(schemaTypeName);
+      innerTypeName = schemaTypeName;
     }
+    schemaView.innerTypeName(innerTypeName);
 
     // Generate a Schema view from each property.
     List<StaticLangApiMessageView> viewProperties = new LinkedList<>();
+    List<JsonCodecFieldView> codecFields = new ArrayList<>();
     List<Schema> schemaProperties = new LinkedList<>();
     schemaProperties.addAll(schema.properties().values());
     if (schema.items() != null) {
       schemaProperties.addAll(schema.items().properties().values());
     }
     for (Schema property : schemaProperties) {
-      viewProperties.add(generateSchemaClasses(messageViewAccumulator, documentContext, property));
+      StaticLangApiMessageView propertyView =
+          generateSchemaClasses(messageViewAccumulator, documentContext, property);
+      viewProperties.add(propertyView);
+      if (enableJsonCodecs) {
+        codecFields.add(generateJsonCodecField(context, property, propertyView));
+      }
       if (DiscoveryField.isTopLevelSchema(property)) {
         // Add non-primitive-type property to imports.
         schemaTypeTable.getAndSaveNicknameFor(
@@ -198,6 +247,17 @@ public class JavaDiscoGapicSchemaToViewTransformer
     schemaView.isRequired(schema.required());
     schemaView.hasRequiredProperties(hasRequiredProperties);
 
+    if (enableJsonCodecs && DiscoveryField.isTopLevelSchema(schema)) {
+      // Keep the fields in the order of the properties of the message class.
+      codecFields.sort(Comparator.comparing(JsonCodecFieldView::name));
+      schemaView.jsonCodec(
+          JsonCodecView.newBuilder()
+              .name(context.getNamer().getJsonCodecClassName(innerTypeName))
+              .messageTypeName(innerTypeName)
+              .fields(codecFields)
+              .build());
+    }
+
     StaticLangApiMessageView messageView = schemaView.build();
 
     if (DiscoveryField.isTopLevelSchema(schema)) {
@@ -207,6 +267,102 @@ public class JavaDiscoGapicSchemaToViewTransformer
     return messageView;
   }
 
+  /*
+   * Creates the view of how the JSON codec of a schema class reads and writes a property, from the
+   * property and its view in the schema class.
+   */
+  private JsonCodecFieldView generateJsonCodecField(
+      SchemaTransformationContext context, Schema property, StaticLangApiMessageView propertyView) {
+    DiscoveryField field = DiscoveryField.create(property, context.getDocContext().getApiModel());
+    Schema schema = field.getDiscoveryField();
+    SurfaceNamer namer = context.getNamer();
+
+    JsonCodecFieldView.Builder codecField = JsonCodecFieldView.newBuilder();
+    codecField.name(propertyView.name());
+    codecField.serializedName(propertyView.rawName());
+    codecField.typeName(propertyView.typeName());
+    codecField.fieldGetFunction(propertyView.fieldGetFunction());
+    codecField.fieldSetFunction(propertyView.fieldSetFunction());
+
+    // Find the schema of the JSON values of the property, the same way the type of the property is.
+    Schema valueSchema;
+    String valueTypeName;
+    if (schema.isMap()) {
+      valueSchema = schema.additionalProperties();
+      valueTypeName =
+          context
+              .getSchemaTypeTable()
+              .getAndSaveNicknameFor(DiscoveryField.create(valueSchema, field.getDiscoApiModel()));
+    } else if (schema.type() == Type.ARRAY) {
+      valueSchema = schema.items();
+      valueTypeName = propertyView.innerTypeName();
+    } else {
+      valueSchema = property;
+      valueTypeName = propertyView.innerTypeName();
+    }
+    boolean isRepeated = !schema.isMap() && (schema.repeated() || schema.type() == Type.ARRAY);
+    codecField.isMap(schema.isMap());
+    codecField.isRepeated(isRepeated);
+    if (schema.isMap() || isRepeated) {
+      codecField.readFunction(namer.getJsonCodecReadFunctionName(field));
+    }
+
+    JsonValueKind valueKind = getJsonValueKind(valueSchema);
+    codecField.valueKind(valueKind);
+    codecField.valueTypeName(valueTypeName);
+    if (valueKind == JsonValueKind.MESSAGE) {
+      codecField.valueCodecName(namer.getJsonCodecClassName(valueTypeName));
+    }
+    return codecField.build();
+  }
+
+  /*
+   * Returns the kind of JSON value of a schema, following JavaSchemaTypeNameConverter. Only schemas
+   * with properties get a message class, and with it a JSON codec; values of any other schema, e.g.
+   * of type "any", are left to Gson.
+   */
+  @VisibleForTesting
+  static JsonValueKind getJsonValueKind(Schema schema) {
+    switch (schema.type()) {
+      case INTEGER:
+        return JsonValueKind.INTEGER;
+      case NUMBER:
+        return schema.format() == Format.FLOAT ? JsonValueKind.FLOAT : JsonValueKind.DOUBLE;
+      case BOOLEAN:
+        return JsonValueKind.BOOLEAN;
+      case STRING:
+        return JsonValueKind.STRING;
+      default:
+        return DiscoveryField.isTopLevelSchema(schema.dereference())
+            ? JsonValueKind.MESSAGE
+            : JsonValueKind.REFLECTIVE;
+    }
+  }
+
+  private void addJsonCodecImports(ImportTypeTable typeTable, JsonCodecView codec) {
+    typeTable.getAndSaveNicknameFor("com.google.api.core.BetaApi");
+    typeTable.getAndSaveNicknameFor("com.google.api.gax.httpjson.HttpResponseParser");
+    if (codec.hasReflectiveFields()) {
+      typeTable.getAndSaveNicknameFor("com.google.gson.Gson");
+    }
+    typeTable.getAndSaveNicknameFor("com.google.gson.JsonIOException");
+    typeTable.getAndSaveNicknameFor("com.google.gson.JsonSyntaxException");
+    typeTable.getAndSaveNicknameFor("com.google.gson.stream.JsonReader");
+    typeTable.getAndSaveNicknameFor("com.google.gson.stream.JsonToken");
+    typeTable.getAndSaveNicknameFor("com.google.gson.stream.JsonWriter");
+    typeTable.getAndSaveNicknameFor("com.google.gson.stream.MalformedJsonException");
+    typeTable.getAndSaveNicknameFor("java.io.IOException");
+    typeTable.getAndSaveNicknameFor("java.io.InputStream");
+    typeTable.getAndSaveNicknameFor("java.io.InputStreamReader");
+    typeTable.getAndSaveNicknameFor("java.io.StringWriter");
+    typeTable.getAndSaveNicknameFor("java.nio.charset.StandardCharsets");
+    typeTable.getAndSaveNicknameFor("java.util.ArrayList");
+    typeTable.getAndSaveNicknameFor("java.util.LinkedHashMap");
+    typeTable.getAndSaveNicknameFor("java.util.List");
+    typeTable.getAndSaveNicknameFor("java.util.Map");
+    typeTable.getAndSaveNicknameFor("javax.annotation.Generated");
+  }
+
   private void addApiImports(ImportTypeTable typeTable) {
     typeTable.getAndSaveNicknameFor("com.google.api.core.BetaApi");
     typeTable.getAndSaveNicknameFor("com.google.api.gax.httpjson.ApiMessage");
@@ -41,6 +41,7 @@ import java.util.List;
 public class JavaDiscoGapicSurfaceTransformer
     implements ModelToViewTransformer<DiscoApiModel>, SurfaceTransformer {
   private final GapicCodePathMapper pathMapper;
+  private final boolean enableJsonCodecs;
 
   private final JavaNameFormatter nameFormatter = new JavaNameFormatter();
 
@@ -56,7 +57,17 @@ public class JavaDiscoGapicSurfaceTransformer
       "java/page_streaming_response.snip";
 
   public JavaDiscoGapicSurfaceTransformer(GapicCodePathMapper pathMapper) {
+    this(pathMapper, false);
+  }
+
+  /**
+   * Creates a transformer whose HTTP stubs parse responses with the JSON codecs generated by a
+   * {@link JavaDiscoGapicSchemaToViewTransformer} if enableJsonCodecs is set.
+   */
+  public JavaDiscoGapicSurfaceTransformer(
+      GapicCodePathMapper pathMapper, boolean enableJsonCodecs) {
     this.pathMapper = Preconditions.checkNotNull(pathMapper);
+    this.enableJsonCodecs = enableJsonCodecs;
   }
 
   @Override
@@ -86,7 +97,12 @@ public class JavaDiscoGapicSurfaceTransformer
       GapicProductConfig productConfig,
       SurfaceNamer namer,
       ImportTypeTable importTypeTable) {
-    return newInterfaceContext(apiInterface, productConfig, namer, importTypeTable);
+    return DiscoGapicInterfaceContext.createWithInterface(
+        apiInterface,
+        productConfig,
+        importTypeTable,
+        namer,
+        JavaFeatureConfig.create(productConfig, enableJsonCodecs));
   }
 
   static DiscoGapicInterfaceContext newInterfaceContext(
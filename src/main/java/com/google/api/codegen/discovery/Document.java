@@ -16,11 +16,20 @@ package com.google.api.codegen.discovery;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
 import com.google.gson.internal.LinkedTreeMap;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -49,6 +58,115 @@ public abstract class Document implements Node {
    * @return a document.
    */
   public static Document from(DiscoveryNode root) {
+    Map<String, Schema> schemas = parseSchemas(root);
+    List<Method> methods = parseMethods(root);
+    Map<String, List<Method>> resources = parseResources(root);
+    return create(root, schemas, methods, resources);
+  }
+
+  /**
+   * Returns a document read from the JSON token stream of parser.
+   *
+   * <p>Unlike {@link #from(DiscoveryNode)}, the document is never held in memory as a single JSON
+   * tree: each schema and method is built from its own subtree, which is discarded right after, so
+   * the peak heap stays proportional to the parsed model rather than to the size of the document.
+   *
+   * @param parser the parser positioned before the root object of the document.
+   * @return a document.
+   */
+  public static Document from(JsonParser parser) throws IOException {
+    ObjectCodec codec = parser.getCodec() != null ? parser.getCodec() : new ObjectMapper();
+    ObjectNode rootFields = JsonNodeFactory.instance.objectNode();
+    Map<String, Schema> schemas = new HashMap<>();
+    List<Method> methods = new ArrayList<>();
+    Map<String, List<Method>> resources = new LinkedTreeMap<>();
+
+    expectToken(parser, parser.nextToken(), JsonToken.START_OBJECT);
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String fieldName = parser.getCurrentName();
+      JsonToken token = parser.nextToken();
+      switch (fieldName) {
+        case "schemas":
+          expectToken(parser, token, JsonToken.START_OBJECT);
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            JsonNode schemaNode = codec.readTree(parser);
+            schemas.put(name, Schema.from(new DiscoveryNode(schemaNode), name, null));
+          }
+          break;
+        case "methods":
+          methods.addAll(streamMethods(parser, codec, token));
+          break;
+        case "resources":
+          expectToken(parser, token, JsonToken.START_OBJECT);
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            List<Method> resourceMethods = streamResource(parser, codec, parser.nextToken());
+            resources.put(name, resourceMethods);
+            methods.addAll(resourceMethods);
+          }
+          break;
+        default:
+          rootFields.set(fieldName, codec.<JsonNode>readTree(parser));
+      }
+    }
+    return create(new DiscoveryNode(rootFields), schemas, methods, resources);
+  }
+
+  /** Builds the methods of a "methods" object, one method subtree at a time. */
+  private static List<Method> streamMethods(JsonParser parser, ObjectCodec codec, JsonToken token)
+      throws IOException {
+    expectToken(parser, token, JsonToken.START_OBJECT);
+    List<Method> methods = new ArrayList<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      parser.nextToken();
+      JsonNode methodNode = codec.readTree(parser);
+      methods.add(Method.from(new DiscoveryNode(methodNode), null));
+    }
+    return methods;
+  }
+
+  /**
+   * Builds the methods of a resource object, including those of its nested resources, in the same
+   * order as {@link #parseMethods(DiscoveryNode)}.
+   */
+  private static List<Method> streamResource(JsonParser parser, ObjectCodec codec, JsonToken token)
+      throws IOException {
+    expectToken(parser, token, JsonToken.START_OBJECT);
+    List<Method> methods = new ArrayList<>();
+    List<Method> nestedMethods = new ArrayList<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String fieldName = parser.getCurrentName();
+      JsonToken valueToken = parser.nextToken();
+      if (fieldName.equals("methods")) {
+        methods.addAll(streamMethods(parser, codec, valueToken));
+      } else if (fieldName.equals("resources")) {
+        expectToken(parser, valueToken, JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          nestedMethods.addAll(streamResource(parser, codec, parser.nextToken()));
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+    methods.addAll(nestedMethods);
+    return methods;
+  }
+
+  private static void expectToken(JsonParser parser, JsonToken actual, JsonToken expected)
+      throws JsonParseException {
+    if (actual != expected) {
+      throw new JsonParseException(
+          parser, String.format("Expected %s in Discovery document, found %s", expected, actual));
+    }
+  }
+
+  private static Document create(
+      DiscoveryNode root,
+      Map<String, Schema> schemas,
+      List<Method> methods,
+      Map<String, List<Method>> resources) {
     AuthType authType;
     DiscoveryNode scopesNode = root.getObject("auth").getObject("oauth2").getObject("scopes");
 
@@ -66,15 +184,12 @@ public abstract class Document implements Node {
     String canonicalName = root.getString("canonicalName");
     String description = root.getString("description");
     String id = root.getString("id");
-    Map<String, Schema> schemas = parseSchemas(root);
-    List<Method> methods = parseMethods(root);
     Collections.sort(methods); // Ensure methods are ordered alphabetically by their ID.
     String ownerDomain = root.getString("ownerDomain");
     String name = root.getString("name");
     if (canonicalName.isEmpty()) {
       canonicalName = name;
     }
-    Map<String, List<Method>> resources = parseResources(root);
     String revision = root.getString("revision");
     String rootUrl = root.getString("rootUrl");
     String servicePath = root.getString("servicePath");
@@ -121,6 +236,19 @@ public abstract class Document implements Node {
       }
     }
 
+    // Resolve all references once, now that the schemas they point to are known.
+    for (Schema schema : schemas.values()) {
+      schema.resolveReferences(schemas);
+    }
+    for (Method method : methods) {
+      method.resolveReferences(schemas);
+    }
+    for (List<Method> resourceMethods : resources.values()) {
+      for (Method method : resourceMethods) {
+        method.resolveReferences(schemas);
+      }
+    }
+
     return thisDocument;
   }
 
@@ -120,6 +120,19 @@ public abstract class Method implements Comparable<Method>, Node {
     this.parent = parent;
   }
 
+  /** Resolves the references of the parameter, request and response schemas of this method. */
+  void resolveReferences(Map<String, Schema> documentSchemas) {
+    for (Schema schema : parameters().values()) {
+      schema.resolveReferences(documentSchemas);
+    }
+    if (request() != null) {
+      request().resolveReferences(documentSchemas);
+    }
+    if (response() != null) {
+      response().resolveReferences(documentSchemas);
+    }
+  }
+
   @Override
   public Node parent() {
     return parent;
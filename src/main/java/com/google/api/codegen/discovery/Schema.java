@@ -18,15 +18,18 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nullable;
 
 /**
@@ -47,6 +50,9 @@ public abstract class Schema implements Node {
    * @return the first non-reference schema, or this if this schema references no other.
    */
   public Schema dereference() {
+    if (referencedSchema != null) {
+      return referencedSchema;
+    }
     if (!Strings.isNullOrEmpty(reference())) {
       Node document = parent;
       while (document != null && !(document instanceof Document)) {
@@ -63,17 +69,45 @@ public abstract class Schema implements Node {
     return this;
   }
 
+  /**
+   * Resolves the references of this schema and of the schemas it contains against the schemas of
+   * its document, so that {@link #dereference()} no longer has to walk back to the document.
+   * Unresolvable references are left to {@link #dereference()}, which fails on them.
+   */
+  void resolveReferences(Map<String, Schema> documentSchemas) {
+    if (!Strings.isNullOrEmpty(reference())) {
+      referencedSchema = documentSchemas.get(reference());
+    }
+    if (items() != null) {
+      items().resolveReferences(documentSchemas);
+    }
+    for (Schema schema : properties().values()) {
+      schema.resolveReferences(documentSchemas);
+    }
+    if (additionalProperties() != null) {
+      additionalProperties().resolveReferences(documentSchemas);
+    }
+  }
+
   /**
    * Traverses the schema's child nodes to find a Schema with the given childName. Returns a schema
    * traversal path to the target; this path will include the starting node if the target was found.
    * Returns an empty list if the target is not found.
+   *
+   * <p>The path is computed once per childName and memoized.
    */
   public List<Schema> findChild(String childName) {
-    Set<Schema> visitedNodes = new HashSet<>();
-    Map<Schema, Schema> nodeToPrevNode = new HashMap<>();
+    return childPaths.computeIfAbsent(childName, this::searchChild);
+  }
+
+  private List<Schema> searchChild(String childName) {
+    // Schemas are tracked by identity: each node of the schema graph is a distinct object, and the
+    // content-based hashCode() of schemas is too expensive to compute on every step.
+    Set<Schema> visitedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+    Map<Schema, Schema> nodeToPrevNode = new IdentityHashMap<>();
 
     Schema currentNode = this;
-    Queue<Schema> queue = new LinkedList<>();
+    Queue<Schema> queue = new ArrayDeque<>();
     queue.add(this);
     visitedNodes.add(this);
 
@@ -82,7 +116,7 @@ public abstract class Schema implements Node {
       currentNode = queue.poll().dereference();
 
       // Add all direct children of current node to local queue.
-      Queue<Schema> localQueue = new LinkedList<>();
+      Queue<Schema> localQueue = new ArrayDeque<>();
       if (currentNode.properties() != null && currentNode.properties().size() > 0) {
         localQueue.addAll(currentNode.properties().values());
       }
@@ -99,25 +133,24 @@ public abstract class Schema implements Node {
           currentNode = next;
           break;
         }
-        if (!visitedNodes.contains(next)) {
+        if (visitedNodes.add(next)) {
           nodeToPrevNode.put(next, currentNode);
-          visitedNodes.add(next);
           queue.add(next);
         }
       }
     }
 
     // Get the path to the schema.
-    List<Schema> pathToChild = new LinkedList<>();
+    LinkedList<Schema> pathToChild = new LinkedList<>();
     if (currentNode.getIdentifier().equals(childName)) {
-      while (!currentNode.equals(this)) {
-        pathToChild.add(0, currentNode);
+      while (currentNode != this) {
+        pathToChild.addFirst(currentNode);
         currentNode = nodeToPrevNode.get(currentNode);
       }
-      pathToChild.add(0, currentNode);
+      pathToChild.addFirst(currentNode);
     }
 
-    return pathToChild;
+    return ImmutableList.copyOf(pathToChild);
   }
 
   /**
@@ -226,6 +259,12 @@ public abstract class Schema implements Node {
     this.parent = parent;
   }
 
+  /** The schema this schema references, once resolved against its document. */
+  @JsonIgnore @Nullable private Schema referencedSchema;
+
+  /** Memoized results of {@link #findChild(String)}, by child name. */
+  @JsonIgnore private final Map<String, List<Schema>> childPaths = new ConcurrentHashMap<>();
+
   /** @return the schema of the additionalProperties, or null if none. */
   @Nullable
   public abstract Schema additionalProperties();
@@ -20,6 +20,7 @@ import java.util.List;
 public class ArtifactFlags {
   public static final String ARTIFACT_SURFACE = "surface";
   public static final String ARTIFACT_TEST = "test";
+  public static final String ARTIFACT_JSON_CODECS = "json_codecs";
 
   private List<String> enabledArtifacts;
   private ArtifactType artifactType;
@@ -37,6 +38,11 @@ public class ArtifactFlags {
     return enabledArtifacts.isEmpty() || enabledArtifacts.contains(ARTIFACT_TEST);
   }
 
+  /** JSON codecs are opt-in: they are only generated when explicitly enabled. */
+  public boolean jsonCodecsEnabled() {
+    return enabledArtifacts.contains(ARTIFACT_JSON_CODECS);
+  }
+
   public boolean codeFilesEnabled() {
     return artifactType == ArtifactType.LEGACY_GAPIC_AND_PACKAGE
         || artifactType == ArtifactType.GAPIC_CODE
@@ -0,0 +1,163 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import com.google.api.codegen.common.CodeGenerator;
+import com.google.api.codegen.common.GeneratedResult;
+import com.google.api.tools.framework.model.Diag;
+import com.google.api.tools.framework.model.DiagCollector;
+import com.google.api.tools.framework.model.SimpleDiagCollector;
+import com.google.api.tools.framework.model.SimpleLocation;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
+
+/**
+ * Runs independent CodeGenerators concurrently on a bounded thread pool.
+ *
+ * <p>The outputs of the generators are merged in the order in which the generators are given, so
+ * the result does not depend on which generator finishes first. The first generator to fail cancels
+ * all the generators which are still pending or running.
+ *
+ * <p>Each generator reports its diags to its own collector, as collectors are not thread-safe and a
+ * generator must not fail because of the errors of another. The diags of the generators which
+ * completed are added to the caller's collector in generator order once the run is over.
+ */
+public class CodeGeneratorScheduler {
+  private final int threads;
+
+  public CodeGeneratorScheduler(int threads) {
+    Preconditions.checkArgument(threads > 0, "threads must be positive, got %s", threads);
+    this.threads = threads;
+  }
+
+  /**
+   * Runs the generators and returns their merged output.
+   *
+   * <p>Returns null if any generator fails, either by throwing or by returning no output. In that
+   * case an error naming the failed generator is added to the diagCollector, after the diags of
+   * the generators.
+   */
+  @Nullable
+  public Map<String, GeneratedResult<?>> run(
+      List<CodeGenerator<?>> generators, DiagCollector diagCollector)
+      throws InterruptedException {
+    if (generators.isEmpty()) {
+      return ImmutableMap.of();
+    }
+
+    List<SimpleDiagCollector> generatorDiagCollectors = new ArrayList<>();
+    List<Map<String, ? extends GeneratedResult<?>>> outputs = new ArrayList<>();
+    for (int i = 0; i < generators.size(); ++i) {
+      generatorDiagCollectors.add(new SimpleDiagCollector());
+      outputs.add(null);
+    }
+
+    boolean[] completed = new boolean[generators.size()];
+    Diag failure = null;
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, generators.size()));
+    try {
+      CompletionService<GeneratorOutput> completionService =
+          new ExecutorCompletionService<>(executor);
+      Map<Future<GeneratorOutput>, Integer> pending = new HashMap<>();
+      for (int i = 0; i < generators.size(); ++i) {
+        int index = i;
+        CodeGenerator<?> generator = generators.get(index);
+        SimpleDiagCollector generatorDiagCollector = generatorDiagCollectors.get(index);
+        pending.put(
+            completionService.submit(
+                () -> new GeneratorOutput(index, generator.generate(generatorDiagCollector))),
+            index);
+      }
+
+      for (int i = 0; i < generators.size() && failure == null; ++i) {
+        Future<GeneratorOutput> future = completionService.take();
+        int index = pending.remove(future);
+        CodeGenerator<?> generator = generators.get(index);
+        completed[index] = true;
+        try {
+          GeneratorOutput output = future.get();
+          if (output.results == null) {
+            failure = error("Code generator %s reported errors.", describe(generator));
+          } else {
+            outputs.set(index, output.results);
+          }
+        } catch (ExecutionException e) {
+          failure = error("Code generator %s failed: %s", describe(generator), e.getCause());
+        }
+      }
+      if (failure != null) {
+        cancelAll(pending.keySet());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // The collectors of cancelled generators may still be in use, so only those of the generators
+    // which completed are read.
+    for (int i = 0; i < generators.size(); ++i) {
+      if (completed[i]) {
+        for (Diag diag : generatorDiagCollectors.get(i).getDiags()) {
+          diagCollector.addDiag(diag);
+        }
+      }
+    }
+    if (failure != null) {
+      diagCollector.addDiag(failure);
+      return null;
+    }
+
+    ImmutableMap.Builder<String, GeneratedResult<?>> generatedResults = ImmutableMap.builder();
+    for (Map<String, ? extends GeneratedResult<?>> output : outputs) {
+      generatedResults.putAll(output);
+    }
+    return generatedResults.build();
+  }
+
+  private static void cancelAll(Iterable<Future<GeneratorOutput>> futures) {
+    for (Future<GeneratorOutput> future : futures) {
+      future.cancel(true);
+    }
+  }
+
+  private static String describe(CodeGenerator<?> generator) {
+    return generator.getClass().getSimpleName() + " " + generator.getInputFileNames();
+  }
+
+  private static Diag error(String message, Object... args) {
+    return Diag.error(SimpleLocation.TOPLEVEL, message, args);
+  }
+
+  private static class GeneratorOutput {
+    private final int index;
+    @Nullable private final Map<String, ? extends GeneratedResult<?>> results;
+
+    private GeneratorOutput(
+        int index, @Nullable Map<String, ? extends GeneratedResult<?>> results) {
+      this.index = index;
+      this.results = results;
+    }
+  }
+}
@@ -18,24 +18,59 @@ import com.google.api.codegen.common.GeneratedResult;
 import com.google.api.tools.framework.model.Diag;
 import com.google.api.tools.framework.model.DiagCollector;
 import com.google.api.tools.framework.model.SimpleLocation;
+import com.google.api.tools.framework.snippet.Doc;
 import com.google.api.tools.framework.tools.ToolUtil;
+import com.google.auto.value.AutoValue;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.hash.Hashing;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
-/** A class that writes Gapic output to disk. */
+/**
+ * A class that writes Gapic output to disk.
+ *
+ * <p>In incremental mode, the writer keeps a manifest of the paths, content hashes, sizes and
+ * modification times of the files it wrote in the output directory. Files whose content did not
+ * change are not rewritten, so their modification times are preserved, and files generated by the
+ * previous run but not by this one are removed. Files whose size or modification time no longer
+ * match the manifest are hashed again, so that files edited since the previous run are restored,
+ * and directories left empty by removed files are removed too. The paths of the added, modified
+ * and removed files are listed in a changes file, for downstream builds to pick up. The manifest
+ * and the changes file are kept in the {@code .gapic} directory of the output directory, which is
+ * reserved: no generated file may be written into it, and it is never removed.
+ */
 public class FileGapicWriter implements GapicWriter {
 
+  private static final String METADATA_DIRECTORY = ".gapic";
+  private static final String MANIFEST_FILE_NAME = "manifest";
+  private static final String CHANGES_FILE_NAME = "changes";
+
   private final String outputPath;
+  private final boolean incremental;
   private boolean isDone = false;
+  private OutputChanges outputChanges;
 
   public FileGapicWriter(String outputPath) {
+    this(outputPath, false);
+  }
+
+  public FileGapicWriter(String outputPath, boolean incremental) {
     this.outputPath = outputPath;
+    this.incremental = incremental;
   }
 
   @Override
@@ -49,7 +84,11 @@ public class FileGapicWriter implements GapicWriter {
       throws IOException {
     Map<String, Object> outputFiles = GeneratedResult.extractBodiesGeneric(generatedResults);
 
-    writeCodeGenOutput(outputFiles, outputPath);
+    if (incremental && !isJarOutput(outputPath)) {
+      outputChanges = writeCodeGenOutputIncrementally(outputFiles, outputPath);
+    } else {
+      writeCodeGenOutput(outputFiles, outputPath);
+    }
 
     Set<String> executables =
         generatedResults
@@ -66,13 +105,184 @@ public class FileGapicWriter implements GapicWriter {
   @VisibleForTesting
   void writeCodeGenOutput(Map<String, Object> outputFiles, String outputPath) throws IOException {
     // TODO: Support zip output.
-    if (outputPath.endsWith(".jar") || outputPath.endsWith(".srcjar")) {
+    if (isJarOutput(outputPath)) {
       ToolUtil.writeJar(outputFiles, outputPath);
     } else {
       ToolUtil.writeFiles(outputFiles, outputPath);
     }
   }
 
+  /**
+   * Returns the changes made to the output directory by the last incremental write, or null if the
+   * output was not written incrementally.
+   */
+  @Nullable
+  public OutputChanges getOutputChanges() {
+    return outputChanges;
+  }
+
+  @VisibleForTesting
+  OutputChanges writeCodeGenOutputIncrementally(Map<String, Object> outputFiles, String outputPath)
+      throws IOException {
+    Map<String, ManifestEntry> previousEntries = readManifest(outputPath);
+    Map<String, ManifestEntry> entries = new TreeMap<>();
+    Set<String> added = new HashSet<>();
+    Set<String> modified = new HashSet<>();
+    Set<String> removed = new HashSet<>();
+    Set<String> unchanged = new HashSet<>();
+
+    for (Map.Entry<String, Object> entry : outputFiles.entrySet()) {
+      String path = entry.getKey();
+      if (isMetadataPath(path)) {
+        throw new IllegalArgumentException(
+            "Generated file " + path + " is in the reserved " + METADATA_DIRECTORY + " directory");
+      }
+      byte[] content = toBytes(entry.getValue());
+      String hash = hash(content);
+
+      File file = outputFile(outputPath, path);
+      ManifestEntry previousEntry = previousEntries.get(path);
+      if (previousEntry != null
+          && previousEntry.hash().equals(hash)
+          && isUnchangedOnDisk(file, previousEntry)) {
+        unchanged.add(path);
+        entries.put(path, ManifestEntry.of(hash, file));
+        continue;
+      }
+      if (file.getParentFile() != null) {
+        Files.createDirectories(file.getParentFile().toPath());
+      }
+      // Replace the file rather than writing into it, in case it is hard linked to another file.
+      Files.deleteIfExists(file.toPath());
+      Files.write(file.toPath(), content);
+      entries.put(path, ManifestEntry.of(hash, file));
+      if (previousEntry == null) {
+        added.add(path);
+      } else {
+        modified.add(path);
+      }
+    }
+
+    for (String path : previousEntries.keySet()) {
+      if (!entries.containsKey(path) && !isMetadataPath(path)) {
+        File file = outputFile(outputPath, path);
+        Files.deleteIfExists(file.toPath());
+        deleteEmptyParents(file, outputPath);
+        removed.add(path);
+      }
+    }
+
+    OutputChanges outputChanges = OutputChanges.create(added, modified, removed, unchanged);
+    writeLines(
+        manifestFile(outputPath),
+        entries
+            .entrySet()
+            .stream()
+            .map(e -> e.getValue().toLine(e.getKey()))
+            .collect(Collectors.toList()));
+    writeLines(changesFile(outputPath), outputChanges.toLines());
+    return outputChanges;
+  }
+
+  /**
+   * Returns whether the file still has the content recorded in the manifest. The file is only
+   * hashed again when its size or modification time changed since the manifest was written.
+   */
+  private static boolean isUnchangedOnDisk(File file, ManifestEntry entry) throws IOException {
+    if (!file.isFile()) {
+      return false;
+    }
+    if (file.length() == entry.size() && file.lastModified() == entry.lastModified()) {
+      return true;
+    }
+    return file.length() == entry.size()
+        && hash(Files.readAllBytes(file.toPath())).equals(entry.hash());
+  }
+
+  /** Deletes the parent directories of a removed file which it left empty. */
+  private static void deleteEmptyParents(File file, String outputPath) {
+    File outputDir = new File(Strings.nullToEmpty(outputPath)).getAbsoluteFile();
+    File dir = file.getAbsoluteFile().getParentFile();
+    while (dir != null && !dir.equals(outputDir) && dir.delete()) {
+      // File.delete only deletes empty directories.
+      dir = dir.getParentFile();
+    }
+  }
+
+  private static boolean isMetadataPath(String path) {
+    return path.equals(METADATA_DIRECTORY) || path.startsWith(METADATA_DIRECTORY + "/");
+  }
+
+  private static String hash(byte[] content) {
+    return Hashing.sha256().hashBytes(content).toString();
+  }
+
+  private static Map<String, ManifestEntry> readManifest(String outputPath) throws IOException {
+    Map<String, ManifestEntry> entries = new HashMap<>();
+    File manifest = manifestFile(outputPath);
+    if (!manifest.exists()) {
+      return entries;
+    }
+    for (String line : Files.readAllLines(manifest.toPath(), StandardCharsets.UTF_8)) {
+      // Each line is "<hash> <size> <modification time> <path>", and paths may contain spaces.
+      String[] fields = line.split(" ", 4);
+      if (fields.length == 4) {
+        try {
+          entries.put(
+              fields[3],
+              ManifestEntry.create(
+                  fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2])));
+        } catch (NumberFormatException e) {
+          // Ignore malformed lines: their files are rewritten as if they were new.
+        }
+      }
+    }
+    return entries;
+  }
+
+  /** The manifest of the files written incrementally into the given output directory. */
+  @VisibleForTesting
+  static File manifestFile(String outputPath) {
+    return metadataFile(outputPath, MANIFEST_FILE_NAME);
+  }
+
+  /** The list of the paths changed by the last incremental write into the given directory. */
+  @VisibleForTesting
+  static File changesFile(String outputPath) {
+    return metadataFile(outputPath, CHANGES_FILE_NAME);
+  }
+
+  private static File metadataFile(String outputPath, String name) {
+    return outputFile(outputPath, METADATA_DIRECTORY + File.separator + name);
+  }
+
+  private static void writeLines(File file, List<String> lines) throws IOException {
+    if (file.getParentFile() != null) {
+      Files.createDirectories(file.getParentFile().toPath());
+    }
+    Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+  }
+
+  private static byte[] toBytes(Object body) {
+    if (body instanceof Doc) {
+      return ((Doc) body).prettyPrint().getBytes(StandardCharsets.UTF_8);
+    } else if (body instanceof String) {
+      return ((String) body).getBytes(StandardCharsets.UTF_8);
+    } else if (body instanceof byte[]) {
+      return (byte[]) body;
+    } else {
+      throw new IllegalArgumentException("Expected one of Doc, String, or byte[]");
+    }
+  }
+
+  private static File outputFile(String outputPath, String path) {
+    return Strings.isNullOrEmpty(outputPath) ? new File(path) : new File(outputPath, path);
+  }
+
+  private static boolean isJarOutput(String outputPath) {
+    return outputPath.endsWith(".jar") || outputPath.endsWith(".srcjar");
+  }
+
   @VisibleForTesting
   void setOutputFilesPermissions(
       Set<String> executables, String outputPath, DiagCollector diagCollector) {
@@ -81,10 +291,7 @@ public class FileGapicWriter implements GapicWriter {
     }
 
     for (String executable : executables) {
-      File file =
-          Strings.isNullOrEmpty(outputPath)
-              ? new File(executable)
-              : new File(outputPath, executable);
+      File file = outputFile(outputPath, executable);
       if (!file.setExecutable(true, false)) {
         warning(
             diagCollector,
@@ -96,4 +303,58 @@ public class FileGapicWriter implements GapicWriter {
   private void warning(DiagCollector diagCollector, String message, Object... args) {
     diagCollector.addDiag(Diag.warning(SimpleLocation.TOPLEVEL, message, args));
   }
+
+  /** The content hash, size and modification time recorded for a file written incrementally. */
+  @AutoValue
+  abstract static class ManifestEntry {
+
+    abstract String hash();
+
+    abstract long size();
+
+    abstract long lastModified();
+
+    static ManifestEntry create(String hash, long size, long lastModified) {
+      return new AutoValue_FileGapicWriter_ManifestEntry(hash, size, lastModified);
+    }
+
+    static ManifestEntry of(String hash, File file) {
+      return create(hash, file.length(), file.lastModified());
+    }
+
+    String toLine(String path) {
+      return hash() + " " + size() + " " + lastModified() + " " + path;
+    }
+  }
+
+  /** The paths changed by an incremental write, relative to the output directory. */
+  @AutoValue
+  public abstract static class OutputChanges {
+
+    public abstract ImmutableSortedSet<String> getAdded();
+
+    public abstract ImmutableSortedSet<String> getModified();
+
+    public abstract ImmutableSortedSet<String> getRemoved();
+
+    public abstract ImmutableSortedSet<String> getUnchanged();
+
+    static OutputChanges create(
+        Set<String> added, Set<String> modified, Set<String> removed, Set<String> unchanged) {
+      return new AutoValue_FileGapicWriter_OutputChanges(
+          ImmutableSortedSet.copyOf(added),
+          ImmutableSortedSet.copyOf(modified),
+          ImmutableSortedSet.copyOf(removed),
+          ImmutableSortedSet.copyOf(unchanged));
+    }
+
+    /** Returns the changes in the format of the changes file: one "A", "M" or "D" line per path. */
+    List<String> toLines() {
+      List<String> lines = new ArrayList<>();
+      getAdded().forEach(path -> lines.add("A " + path));
+      getModified().forEach(path -> lines.add("M " + path));
+      getRemoved().forEach(path -> lines.add("D " + path));
+      return lines;
+    }
+  }
 }
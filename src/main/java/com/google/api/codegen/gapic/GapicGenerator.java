@@ -16,35 +16,51 @@ package com.google.api.codegen.gapic;
 
 import com.google.api.codegen.common.CodeGenerator;
 import com.google.api.codegen.common.GeneratedResult;
+import com.google.api.codegen.common.GeneratedResultConsumer;
 import com.google.api.codegen.config.GapicProductConfig;
 import com.google.api.codegen.config.ProtoApiModel;
 import com.google.api.codegen.rendering.CommonSnippetSetRunner;
 import com.google.api.codegen.transformer.ModelToViewTransformer;
 import com.google.api.codegen.viewmodel.ViewModel;
+import com.google.api.tools.framework.model.DiagCollector;
 import com.google.api.tools.framework.model.Model;
 import com.google.api.tools.framework.model.stages.Merged;
 import com.google.api.tools.framework.snippet.Doc;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 /* CodeGenerator for proto-based GAPIC libraries that uses ViewModels to render the templates. */
 public class GapicGenerator implements CodeGenerator<Doc> {
+  /** The number of rendering threads which makes the generator render view models serially. */
+  public static final int SERIAL_RENDERING = 1;
+
   private final Model model;
   private final GapicProductConfig productConfig;
   private final CommonSnippetSetRunner snippetSetRunner;
   private final ModelToViewTransformer<ProtoApiModel> modelToViewTransformer;
+  private final int renderingThreads;
 
   private GapicGenerator(
       Model model,
       GapicProductConfig productConfig,
       CommonSnippetSetRunner snippetSetRunner,
-      ModelToViewTransformer<ProtoApiModel> modelToViewTransformer) {
+      ModelToViewTransformer<ProtoApiModel> modelToViewTransformer,
+      int renderingThreads) {
     this.model = model;
     this.productConfig = productConfig;
     this.snippetSetRunner = snippetSetRunner;
     this.modelToViewTransformer = modelToViewTransformer;
+    this.renderingThreads = renderingThreads;
   }
 
   @Override
@@ -54,24 +70,122 @@ public class GapicGenerator implements CodeGenerator<Doc> {
 
   @Override
   public Map<String, GeneratedResult<Doc>> generate() {
+    return generate(model.getDiagReporter().getDiagCollector());
+  }
+
+  @Override
+  public Map<String, GeneratedResult<Doc>> generate(DiagCollector diagCollector) {
+    List<ViewModel> surfaceDocs = transform(diagCollector);
+    if (surfaceDocs == null) {
+      return null;
+    }
+
+    Map<String, GeneratedResult<Doc>> results = new TreeMap<>();
+    for (Map<String, GeneratedResult<Doc>> rendered : render(surfaceDocs)) {
+      results.putAll(rendered);
+    }
+
+    return results;
+  }
+
+  /**
+   * Renders the view models one at a time and passes the rendered files to the consumer right
+   * away, so that only the Docs of a single view model are alive at a time. With parallel
+   * rendering, all view models are rendered before they are passed on.
+   */
+  @Override
+  public boolean generate(GeneratedResultConsumer<Doc> consumer) throws IOException {
+    List<ViewModel> surfaceDocs = transform();
+    if (surfaceDocs == null) {
+      return false;
+    }
+
+    if (renderingThreads > SERIAL_RENDERING) {
+      for (Map<String, GeneratedResult<Doc>> rendered : render(surfaceDocs)) {
+        accept(rendered, consumer);
+      }
+      return true;
+    }
+
+    for (ViewModel surfaceDoc : surfaceDocs) {
+      accept(snippetSetRunner.generate(surfaceDoc), consumer);
+    }
+    return true;
+  }
+
+  private static void accept(
+      Map<String, GeneratedResult<Doc>> rendered, GeneratedResultConsumer<Doc> consumer)
+      throws IOException {
+    for (Map.Entry<String, GeneratedResult<Doc>> entry : rendered.entrySet()) {
+      consumer.accept(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /** Transforms the model into view models, or returns null if there are errors. */
+  @Nullable
+  @VisibleForTesting
+  List<ViewModel> transform() {
+    return transform(model.getDiagReporter().getDiagCollector());
+  }
+
+  /**
+   * Transforms the model into view models, or returns null if there are errors. The errors of the
+   * transformation are reported to diagCollector; only those are counted, besides the errors of the
+   * model itself, which are all reported before generation starts.
+   */
+  @Nullable
+  @VisibleForTesting
+  List<ViewModel> transform(DiagCollector diagCollector) {
     // Establish required stage for generation.
     model.establishStage(Merged.KEY);
     if (model.getDiagReporter().getDiagCollector().getErrorCount() > 0) {
       return null;
     }
 
+    int errorCount = diagCollector.getErrorCount();
     List<ViewModel> surfaceDocs =
-        modelToViewTransformer.transform(new ProtoApiModel(model), productConfig);
-    if (model.getDiagReporter().getDiagCollector().getErrorCount() > 0) {
+        modelToViewTransformer.transform(new ProtoApiModel(model), productConfig, diagCollector);
+    if (diagCollector.getErrorCount() > errorCount) {
       return null;
     }
+    return surfaceDocs;
+  }
 
-    Map<String, GeneratedResult<Doc>> results = new TreeMap<>();
-    for (ViewModel surfaceDoc : surfaceDocs) {
-      results.putAll(snippetSetRunner.generate(surfaceDoc));
+  /** Renders a single view model. Exposed for benchmarks. */
+  @VisibleForTesting
+  Map<String, GeneratedResult<Doc>> renderViewModel(ViewModel surfaceDoc) {
+    return snippetSetRunner.generate(surfaceDoc);
+  }
+
+  /**
+   * Renders the given view models, returning the rendered files in the same order as the view
+   * models. When more than one rendering thread is configured, the view models are rendered
+   * concurrently on a dedicated ForkJoinPool; the results are still merged in view model order, so
+   * the output is identical to serial rendering.
+   */
+  private List<Map<String, GeneratedResult<Doc>>> render(List<ViewModel> surfaceDocs) {
+    if (renderingThreads <= SERIAL_RENDERING || surfaceDocs.size() <= 1) {
+      return surfaceDocs.stream().map(snippetSetRunner::generate).collect(Collectors.toList());
     }
 
-    return results;
+    ForkJoinPool pool = new ForkJoinPool(renderingThreads);
+    try {
+      return pool.submit(
+              () ->
+                  surfaceDocs
+                      .parallelStream()
+                      .map(snippetSetRunner::generate)
+                      .collect(Collectors.toList()))
+          .get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while rendering view models", e);
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      pool.shutdown();
+    }
   }
 
   public static Builder newBuilder() {
@@ -83,6 +197,7 @@ public class GapicGenerator implements CodeGenerator<Doc> {
     private GapicProductConfig productConfig;
     private CommonSnippetSetRunner snippetSetRunner;
     private ModelToViewTransformer<ProtoApiModel> modelToViewTransformer;
+    private int renderingThreads = SERIAL_RENDERING;
 
     private Builder() {}
 
@@ -107,8 +222,22 @@ public class GapicGenerator implements CodeGenerator<Doc> {
       return this;
     }
 
+    /**
+     * Sets the number of threads used to render view models. {@link #SERIAL_RENDERING}, the
+     * default, renders them one at a time on the calling thread.
+     */
+    public Builder setRenderingThreads(int renderingThreads) {
+      Preconditions.checkArgument(
+          renderingThreads >= SERIAL_RENDERING,
+          "renderingThreads must be positive, got %s",
+          renderingThreads);
+      this.renderingThreads = renderingThreads;
+      return this;
+    }
+
     public GapicGenerator build() {
-      return new GapicGenerator(model, productConfig, snippetSetRunner, modelToViewTransformer);
+      return new GapicGenerator(
+          model, productConfig, snippetSetRunner, modelToViewTransformer, renderingThreads);
     }
   }
 }
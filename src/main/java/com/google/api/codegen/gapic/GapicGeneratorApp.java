@@ -22,6 +22,7 @@ import com.google.api.codegen.common.TargetLanguage;
 import com.google.api.codegen.config.ApiDefaultsConfig;
 import com.google.api.codegen.config.DependenciesConfig;
 import com.google.api.codegen.config.GapicProductConfig;
+import com.google.api.codegen.config.GapicProductConfigInputs;
 import com.google.api.codegen.config.PackageMetadataConfig;
 import com.google.api.codegen.config.PackagingConfig;
 import com.google.api.codegen.util.MultiYamlReader;
@@ -38,17 +39,29 @@ import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.inject.TypeLiteral;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
 import com.google.protobuf.ExtensionRegistry;
 import com.google.protobuf.Message;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /** Main class for the code generator. */
 public class GapicGeneratorApp extends ToolDriverBase {
   public static final Option<String> LANGUAGE =
       ToolOptions.createOption(String.class, "language", "The target language.", "");
+  public static final Option<List<String>> LANGUAGES =
+      ToolOptions.createOption(
+          new TypeLiteral<List<String>>() {},
+          "languages",
+          "The target languages, generated from a single model into subdirectories of the output "
+              + "named after each language. Overrides the language option.",
+          ImmutableList.of());
   public static final Option<String> OUTPUT_FILE =
       ToolOptions.createOption(
           String.class,
@@ -93,6 +106,36 @@ public class GapicGeneratorApp extends ToolDriverBase {
           "Whether to generate samples in non-production-ready languages.",
           false);
 
+  public static final Option<Boolean> PARALLEL_RENDERING =
+      ToolOptions.createOption(
+          Boolean.class,
+          "parallel_rendering",
+          "Whether to render the view models of each generator concurrently.",
+          false);
+
+  public static final Option<Integer> RENDERING_THREADS =
+      ToolOptions.createOption(
+          Integer.class,
+          "rendering_threads",
+          "The number of threads used for parallel rendering. Defaults to the number of "
+              + "available processors.",
+          Runtime.getRuntime().availableProcessors());
+
+  public static final Option<Boolean> PARALLEL_GENERATORS =
+      ToolOptions.createOption(
+          Boolean.class,
+          "parallel_generators",
+          "Whether to run the code generators of the target language concurrently.",
+          false);
+
+  public static final Option<Integer> GENERATOR_THREADS =
+      ToolOptions.createOption(
+          Integer.class,
+          "generator_threads",
+          "The maximum number of code generators run at the same time with parallel generators. "
+              + "Defaults to the number of available processors.",
+          Runtime.getRuntime().availableProcessors());
+
   private ArtifactType artifactType;
 
   private final GapicWriter gapicWriter;
@@ -116,6 +159,36 @@ public class GapicGeneratorApp extends ToolDriverBase {
     return extensionRegistry;
   }
 
+  /**
+   * Runs the generator on the given descriptor set, instead of the descriptor set named by the
+   * {@link ToolOptions#DESCRIPTOR_SET} option. Returns the exit code of {@link #run()}.
+   *
+   * <p>The tool driver only builds its model from a descriptor set file, so the set is handed to it
+   * through a temporary file. This keeps the parsing of the descriptors with the platform
+   * extensions, the model setup and the error handling in the tool driver.
+   */
+  public int run(FileDescriptorSet descriptorSet) {
+    Path descriptorSetFile = null;
+    try {
+      descriptorSetFile = Files.createTempFile("gapic_descriptor_set", ".pb");
+      Files.write(descriptorSetFile, descriptorSet.toByteArray());
+      options.set(ToolOptions.DESCRIPTOR_SET, descriptorSetFile.toString());
+      return run();
+    } catch (IOException e) {
+      getDiagCollector()
+          .addDiag(
+              Diag.error(
+                  SimpleLocation.TOPLEVEL,
+                  "Failed to write the descriptor set: %s",
+                  e.getMessage()));
+      return getDiagCollector().getErrorCount();
+    } finally {
+      if (descriptorSetFile != null) {
+        descriptorSetFile.toFile().delete();
+      }
+    }
+  }
+
   @Override
   protected void process() throws Exception {
 
@@ -156,26 +229,104 @@ public class GapicGeneratorApp extends ToolDriverBase {
               apiDefaultsConfig, dependenciesConfig, packagingConfig);
     }
 
-    TargetLanguage language;
-    if (!Strings.isNullOrEmpty(options.get(LANGUAGE))) {
-      language = TargetLanguage.fromString(options.get(LANGUAGE).toUpperCase());
+    // With --languages, every language is generated into a subdirectory named after it.
+    boolean multipleLanguages = !options.get(LANGUAGES).isEmpty();
+    List<TargetLanguage> languages;
+    if (multipleLanguages) {
+      languages =
+          options
+              .get(LANGUAGES)
+              .stream()
+              .map(TargetLanguage::fromString)
+              .collect(Collectors.toList());
+    } else if (!Strings.isNullOrEmpty(options.get(LANGUAGE))) {
+      languages = ImmutableList.of(TargetLanguage.fromString(options.get(LANGUAGE).toUpperCase()));
     } else {
       throw new IllegalArgumentException("Language not set by --language option.");
     }
 
     String clientPackage = Strings.emptyToNull(options.get(CLIENT_PACKAGE));
 
-    GapicProductConfig productConfig =
-        GapicProductConfig.create(model, configProto, protoPackage, clientPackage, language);
-    if (productConfig == null) {
-      ToolUtil.reportDiags(model.getDiagReporter().getDiagCollector(), true);
+    ArtifactFlags artifactFlags = new ArtifactFlags(options.get(ENABLED_ARTIFACTS), artifactType);
+    int renderingThreads =
+        options.get(PARALLEL_RENDERING)
+            ? options.get(RENDERING_THREADS)
+            : GapicGenerator.SERIAL_RENDERING;
+
+    // The language independent parts of the product config are built once for all languages.
+    GapicProductConfigInputs productConfigInputs =
+        GapicProductConfigInputs.create(model, configProto, protoPackage);
+    List<CodeGenerator<?>> generators = new ArrayList<>();
+    for (TargetLanguage language : languages) {
+      GapicProductConfig productConfig =
+          GapicProductConfig.create(productConfigInputs, clientPackage, language);
+      if (productConfig == null) {
+        ToolUtil.reportDiags(model.getDiagReporter().getDiagCollector(), true);
+        return;
+      }
+
+      List<CodeGenerator<?>> languageGenerators =
+          GapicGeneratorFactory.create(
+              language,
+              model,
+              productConfig,
+              packageConfig,
+              artifactFlags,
+              options.get(DEV_SAMPLES),
+              renderingThreads);
+      if (multipleLanguages) {
+        String subdirectory = language.toString().toLowerCase();
+        for (CodeGenerator<?> generator : languageGenerators) {
+          generators.add(SubdirectoryCodeGenerator.of(subdirectory, generator));
+        }
+      } else {
+        generators.addAll(languageGenerators);
+      }
+    }
+
+    Map<String, GeneratedResult<?>> generatedResults;
+    if (options.get(PARALLEL_GENERATORS)) {
+      generatedResults =
+          new CodeGeneratorScheduler(options.get(GENERATOR_THREADS))
+              .run(generators, model.getDiagReporter().getDiagCollector());
+      if (generatedResults == null) {
+        ToolUtil.reportDiags(model.getDiagReporter().getDiagCollector(), true);
+        return;
+      }
+    } else if (gapicWriter instanceof StreamingGapicWriter) {
+      // Hand the files to the writer as they are generated instead of collecting them first.
+      StreamingGapicWriter streamingWriter = (StreamingGapicWriter) gapicWriter;
+      boolean finished = false;
+      try {
+        for (CodeGenerator<?> generator : generators) {
+          if (!streamGenerator(generator, streamingWriter)) {
+            ToolUtil.reportDiags(model.getDiagReporter().getDiagCollector(), true);
+            return;
+          }
+        }
+        streamingWriter.finish(model.getDiagReporter().getDiagCollector());
+        finished = true;
+      } finally {
+        // Don't leave a partial srcjar or directory behind when a generator failed.
+        if (!finished) {
+          streamingWriter.abort();
+        }
+      }
       return;
+    } else {
+      generatedResults = runGenerators(generators);
     }
 
-    ArtifactFlags artifactFlags = new ArtifactFlags(options.get(ENABLED_ARTIFACTS), artifactType);
-    List<CodeGenerator<?>> generators =
-        GapicGeneratorFactory.create(
-            language, model, productConfig, packageConfig, artifactFlags, options.get(DEV_SAMPLES));
+    gapicWriter.writeCodeGenOutput(generatedResults, model.getDiagReporter().getDiagCollector());
+  }
+
+  private static <T> boolean streamGenerator(
+      CodeGenerator<T> generator, StreamingGapicWriter streamingWriter) throws IOException {
+    return generator.generate(streamingWriter::writeGeneratedResult);
+  }
+
+  private static Map<String, GeneratedResult<?>> runGenerators(List<CodeGenerator<?>> generators)
+      throws IOException {
     ImmutableMap.Builder<String, GeneratedResult<?>> generatedResults = ImmutableMap.builder();
     for (CodeGenerator<?> generator : generators) {
       Map<String, ? extends GeneratedResult<?>> generatorResult = generator.generate();
@@ -183,9 +334,7 @@ public class GapicGeneratorApp extends ToolDriverBase {
         generatedResults.put(entry.getKey(), entry.getValue());
       }
     }
-
-    gapicWriter.writeCodeGenOutput(
-        generatedResults.build(), model.getDiagReporter().getDiagCollector());
+    return generatedResults.build();
   }
 
   private ConfigSource loadConfigFromFiles(List<String> configFileNames) {
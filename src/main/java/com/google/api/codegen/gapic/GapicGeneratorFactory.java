@@ -114,6 +114,30 @@ public class GapicGeneratorFactory {
       PackageMetadataConfig packageConfig,
       ArtifactFlags artifactFlags,
       boolean devSamples) {
+    return create(
+        language,
+        model,
+        productConfig,
+        packageConfig,
+        artifactFlags,
+        devSamples,
+        GapicGenerator.SERIAL_RENDERING);
+  }
+
+  /**
+   * Create the GapicGenerators based on the given id.
+   *
+   * <p>View model based generators render their output using {@code renderingThreads} threads; see
+   * {@link GapicGenerator.Builder#setRenderingThreads(int)}.
+   */
+  public static List<CodeGenerator<?>> create(
+      TargetLanguage language,
+      Model model,
+      GapicProductConfig productConfig,
+      PackageMetadataConfig packageConfig,
+      ArtifactFlags artifactFlags,
+      boolean devSamples,
+      int renderingThreads) {
 
     ArrayList<CodeGenerator<?>> generators = new ArrayList<>();
     // Please keep the following IDs in alphabetical order
@@ -132,6 +156,7 @@ public class GapicGeneratorFactory {
               GapicGenerator.newBuilder()
                   .setModel(model)
                   .setProductConfig(productConfig)
+                  .setRenderingThreads(renderingThreads)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new CSharpRenderingUtil()))
                   .setModelToViewTransformer(transformer)
                   .build();
@@ -196,6 +221,7 @@ public class GapicGeneratorFactory {
             GapicGenerator.newBuilder()
                 .setModel(model)
                 .setProductConfig(productConfig)
+                .setRenderingThreads(renderingThreads)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                 .setModelToViewTransformer(
                     new GoGapicSurfaceTransformer(new PackageNameCodePathMapper()))
@@ -207,6 +233,7 @@ public class GapicGeneratorFactory {
             GapicGenerator.newBuilder()
                 .setModel(model)
                 .setProductConfig(productConfig)
+                .setRenderingThreads(renderingThreads)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                 .setModelToViewTransformer(new GoGapicSurfaceTestTransformer())
                 .build();
@@ -219,6 +246,7 @@ public class GapicGeneratorFactory {
               GapicGenerator.newBuilder()
                   .setModel(model)
                   .setProductConfig(productConfig)
+                  .setRenderingThreads(renderingThreads)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new JavaRenderingUtil()))
                   .setModelToViewTransformer(transformer)
                   .build();
@@ -279,6 +307,7 @@ public class GapicGeneratorFactory {
             GapicGenerator.newBuilder()
                 .setModel(model)
                 .setProductConfig(productConfig)
+                .setRenderingThreads(renderingThreads)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                 .setModelToViewTransformer(
                     new NodeJSGapicSurfaceTransformer(nodeJSPathMapper, packageConfig))
@@ -288,6 +317,7 @@ public class GapicGeneratorFactory {
             GapicGenerator.newBuilder()
                 .setModel(model)
                 .setProductConfig(productConfig)
+                .setRenderingThreads(renderingThreads)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                 .setModelToViewTransformer(new NodeJSPackageMetadataTransformer(packageConfig))
                 .build();
@@ -310,6 +340,7 @@ public class GapicGeneratorFactory {
               GapicGenerator.newBuilder()
                   .setModel(model)
                   .setProductConfig(productConfig)
+                  .setRenderingThreads(renderingThreads)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                   .setModelToViewTransformer(
                       new NodeJSGapicSamplesTransformer(nodeJSPathMapper, packageConfig))
@@ -321,6 +352,7 @@ public class GapicGeneratorFactory {
             GapicGenerator.newBuilder()
                 .setModel(model)
                 .setProductConfig(productConfig)
+                .setRenderingThreads(renderingThreads)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                 .setModelToViewTransformer(new NodeJSGapicSurfaceDocTransformer())
                 .build();
@@ -332,6 +364,7 @@ public class GapicGeneratorFactory {
             GapicGenerator.newBuilder()
                 .setModel(model)
                 .setProductConfig(productConfig)
+                .setRenderingThreads(renderingThreads)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                 .setModelToViewTransformer(new NodeJSGapicSurfaceTestTransformer())
                 .build();
@@ -346,6 +379,7 @@ public class GapicGeneratorFactory {
             GapicGenerator.newBuilder()
                 .setModel(model)
                 .setProductConfig(productConfig)
+                .setRenderingThreads(renderingThreads)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                 .setModelToViewTransformer(
                     new PhpGapicSurfaceTransformer(productConfig, phpPathMapper, model))
@@ -367,6 +401,7 @@ public class GapicGeneratorFactory {
             GapicGenerator.newBuilder()
                 .setModel(model)
                 .setProductConfig(productConfig)
+                .setRenderingThreads(renderingThreads)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                 .setModelToViewTransformer(new PhpPackageMetadataTransformer(packageConfig))
                 .build();
@@ -376,6 +411,7 @@ public class GapicGeneratorFactory {
               GapicGenerator.newBuilder()
                   .setModel(model)
                   .setProductConfig(productConfig)
+                  .setRenderingThreads(renderingThreads)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                   .setModelToViewTransformer(
                       new PhpGapicSamplesTransformer(phpPathMapper, packageConfig))
@@ -392,6 +428,7 @@ public class GapicGeneratorFactory {
             GapicGenerator.newBuilder()
                 .setModel(model)
                 .setProductConfig(productConfig)
+                .setRenderingThreads(renderingThreads)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                 .setModelToViewTransformer(new PhpGapicSurfaceTestTransformer(packageConfig))
                 .build();
@@ -405,6 +442,7 @@ public class GapicGeneratorFactory {
             GapicGenerator.newBuilder()
                 .setModel(model)
                 .setProductConfig(productConfig)
+                .setRenderingThreads(renderingThreads)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new PythonRenderingUtil()))
                 .setModelToViewTransformer(
                     new PythonGapicSurfaceTransformer(pythonPathMapper, packageConfig))
@@ -426,6 +464,7 @@ public class GapicGeneratorFactory {
               GapicGenerator.newBuilder()
                   .setModel(model)
                   .setProductConfig(productConfig)
+                  .setRenderingThreads(renderingThreads)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new PythonRenderingUtil()))
                   .setModelToViewTransformer(
                       new PythonGapicSamplesTransformer(pythonPathMapper, packageConfig))
@@ -437,6 +476,7 @@ public class GapicGeneratorFactory {
             GapicGenerator.newBuilder()
                 .setModel(model)
                 .setProductConfig(productConfig)
+                .setRenderingThreads(renderingThreads)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new PythonRenderingUtil()))
                 .setModelToViewTransformer(new PythonPackageMetadataTransformer(packageConfig))
                 .build();
@@ -452,6 +492,7 @@ public class GapicGeneratorFactory {
             GapicGenerator.newBuilder()
                 .setModel(model)
                 .setProductConfig(productConfig)
+                .setRenderingThreads(renderingThreads)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                 .setModelToViewTransformer(
                     new PythonGapicSurfaceTestTransformer(pythonTestPathMapper, packageConfig))
@@ -471,6 +512,7 @@ public class GapicGeneratorFactory {
             GapicGenerator.newBuilder()
                 .setModel(model)
                 .setProductConfig(productConfig)
+                .setRenderingThreads(renderingThreads)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                 .setModelToViewTransformer(
                     new RubyGapicSurfaceTransformer(rubyPathMapper, packageConfig))
@@ -488,6 +530,7 @@ public class GapicGeneratorFactory {
             GapicGenerator.newBuilder()
                 .setModel(model)
                 .setProductConfig(productConfig)
+                .setRenderingThreads(renderingThreads)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                 .setModelToViewTransformer(new RubyPackageMetadataTransformer(packageConfig))
                 .build();
@@ -496,6 +539,7 @@ public class GapicGeneratorFactory {
               GapicGenerator.newBuilder()
                   .setModel(model)
                   .setProductConfig(productConfig)
+                  .setRenderingThreads(renderingThreads)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                   .setModelToViewTransformer(
                       new RubyGapicSamplesTransformer(rubyPathMapper, packageConfig))
@@ -510,6 +554,7 @@ public class GapicGeneratorFactory {
             GapicGenerator.newBuilder()
                 .setModel(model)
                 .setProductConfig(productConfig)
+                .setRenderingThreads(renderingThreads)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                 .setModelToViewTransformer(
                     new RubyGapicSurfaceDocTransformer(rubyPathMapper, packageConfig))
@@ -525,6 +570,7 @@ public class GapicGeneratorFactory {
             GapicGenerator.newBuilder()
                 .setModel(model)
                 .setProductConfig(productConfig)
+                .setRenderingThreads(renderingThreads)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                 .setModelToViewTransformer(
                     new RubyGapicSurfaceTestTransformer(
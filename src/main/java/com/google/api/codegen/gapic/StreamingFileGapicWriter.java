@@ -0,0 +1,153 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import com.google.api.codegen.common.GeneratedResult;
+import com.google.api.tools.framework.model.Diag;
+import com.google.api.tools.framework.model.DiagCollector;
+import com.google.api.tools.framework.model.SimpleLocation;
+import com.google.api.tools.framework.snippet.Doc;
+import com.google.api.tools.framework.tools.ToolUtil;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * A GapicWriter which writes every generated file to disk as soon as it is generated, either into
+ * a directory or into a jar file, and then drops it. Unlike {@link FileGapicWriter}, the generated
+ * files of a whole API are never held in memory at the same time.
+ */
+public class StreamingFileGapicWriter implements StreamingGapicWriter {
+
+  private final String outputPath;
+  private final Set<String> writtenPaths = new HashSet<>();
+  // The written paths which did not exist before, and which an abort deletes again.
+  private final Set<String> createdPaths = new HashSet<>();
+  private final Set<String> executables = new HashSet<>();
+  private JarOutputStream jarOutput;
+  private boolean isDone = false;
+
+  public StreamingFileGapicWriter(String outputPath) {
+    this.outputPath = outputPath;
+  }
+
+  @Override
+  public boolean isDone() {
+    return isDone;
+  }
+
+  @Override
+  public synchronized void writeGeneratedResult(String path, GeneratedResult<?> result)
+      throws IOException {
+    if (result.getBody() == null) {
+      return;
+    }
+    if (!writtenPaths.add(path)) {
+      throw new IllegalArgumentException("Multiple generated files with path " + path);
+    }
+
+    if (isJarOutput()) {
+      writeJarEntry(path, result.getBody());
+    } else {
+      if (!outputFile(path).exists()) {
+        createdPaths.add(path);
+      }
+      ToolUtil.writeFiles(ImmutableMap.<String, Object>of(path, result.getBody()), outputPath);
+    }
+    if (result.isExecutable()) {
+      executables.add(path);
+    }
+  }
+
+  @Override
+  public synchronized void finish(DiagCollector diagCollector) throws IOException {
+    if (isJarOutput()) {
+      if (jarOutput == null) {
+        // Produce a valid, empty jar when nothing was generated.
+        jarOutput = new JarOutputStream(new FileOutputStream(outputPath));
+      }
+      jarOutput.close();
+    } else {
+      setOutputFilesPermissions(diagCollector);
+    }
+    isDone = true;
+  }
+
+  @Override
+  public synchronized void abort() {
+    if (isJarOutput()) {
+      if (jarOutput == null) {
+        return;
+      }
+      try {
+        jarOutput.close();
+      } catch (IOException e) {
+        // The partial jar is deleted below anyway.
+      }
+      jarOutput = null;
+      new File(outputPath).delete();
+    } else {
+      for (String path : createdPaths) {
+        outputFile(path).delete();
+      }
+    }
+  }
+
+  private boolean isJarOutput() {
+    return outputPath.endsWith(".jar") || outputPath.endsWith(".srcjar");
+  }
+
+  private void writeJarEntry(String path, Object body) throws IOException {
+    if (jarOutput == null) {
+      jarOutput = new JarOutputStream(new FileOutputStream(outputPath));
+    }
+    jarOutput.putNextEntry(new JarEntry(path));
+    if (body instanceof Doc) {
+      jarOutput.write(((Doc) body).prettyPrint().getBytes(StandardCharsets.UTF_8));
+    } else if (body instanceof String) {
+      jarOutput.write(((String) body).getBytes(StandardCharsets.UTF_8));
+    } else if (body instanceof byte[]) {
+      jarOutput.write((byte[]) body);
+    } else {
+      throw new IllegalArgumentException("Expected one of Doc, String, or byte[]");
+    }
+    jarOutput.closeEntry();
+  }
+
+  private void setOutputFilesPermissions(DiagCollector diagCollector) {
+    for (String executable : executables) {
+      if (!outputFile(executable).setExecutable(true, false)) {
+        warning(
+            diagCollector,
+            "Failed to set output file as executable. Probably running on a non-POSIX system.");
+      }
+    }
+  }
+
+  private File outputFile(String path) {
+    return Strings.isNullOrEmpty(outputPath) ? new File(path) : new File(outputPath, path);
+  }
+
+  private void warning(DiagCollector diagCollector, String message, Object... args) {
+    diagCollector.addDiag(Diag.warning(SimpleLocation.TOPLEVEL, message, args));
+  }
+}
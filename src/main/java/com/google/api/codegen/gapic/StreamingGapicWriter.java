@@ -0,0 +1,58 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import com.google.api.codegen.common.GeneratedResult;
+import com.google.api.tools.framework.model.DiagCollector;
+import java.io.IOException;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+/**
+ * A GapicWriter which can write out generated files one at a time, while the generators are still
+ * running, instead of receiving all of them at once.
+ */
+public interface StreamingGapicWriter extends GapicWriter {
+
+  /** Writes out a single generated file. */
+  void writeGeneratedResult(String path, GeneratedResult<?> result) throws IOException;
+
+  /** Completes the output after the last generated file has been written. */
+  void finish(DiagCollector diagCollector) throws IOException;
+
+  /**
+   * Releases the output and deletes the files created so far, when the generation failed before
+   * {@link #finish} completed. Files which existed before the run are kept.
+   */
+  void abort();
+
+  @Override
+  default void writeCodeGenOutput(
+      @Nonnull Map<String, GeneratedResult<?>> outputFiles, DiagCollector diagCollector)
+      throws IOException {
+    boolean finished = false;
+    try {
+      for (Map.Entry<String, GeneratedResult<?>> entry : outputFiles.entrySet()) {
+        writeGeneratedResult(entry.getKey(), entry.getValue());
+      }
+      finish(diagCollector);
+      finished = true;
+    } finally {
+      if (!finished) {
+        abort();
+      }
+    }
+  }
+}
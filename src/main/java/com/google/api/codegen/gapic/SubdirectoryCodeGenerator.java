@@ -0,0 +1,72 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import com.google.api.codegen.common.CodeGenerator;
+import com.google.api.codegen.common.GeneratedResult;
+import com.google.api.codegen.common.GeneratedResultConsumer;
+import com.google.api.tools.framework.model.DiagCollector;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/** A CodeGenerator which places the output of another generator in a subdirectory. */
+class SubdirectoryCodeGenerator<T> implements CodeGenerator<T> {
+  private final String subdirectory;
+  private final CodeGenerator<T> generator;
+
+  private SubdirectoryCodeGenerator(String subdirectory, CodeGenerator<T> generator) {
+    this.subdirectory = subdirectory;
+    this.generator = generator;
+  }
+
+  static <T> SubdirectoryCodeGenerator<T> of(String subdirectory, CodeGenerator<T> generator) {
+    return new SubdirectoryCodeGenerator<>(subdirectory, generator);
+  }
+
+  @Override
+  public Collection<String> getInputFileNames() {
+    return generator.getInputFileNames();
+  }
+
+  @Override
+  public Map<String, GeneratedResult<T>> generate() throws IOException {
+    return relocate(generator.generate());
+  }
+
+  @Override
+  public Map<String, GeneratedResult<T>> generate(DiagCollector diagCollector)
+      throws IOException {
+    return relocate(generator.generate(diagCollector));
+  }
+
+  private Map<String, GeneratedResult<T>> relocate(Map<String, GeneratedResult<T>> results) {
+    if (results == null) {
+      return null;
+    }
+
+    Map<String, GeneratedResult<T>> relocatedResults = new TreeMap<>();
+    for (Map.Entry<String, GeneratedResult<T>> entry : results.entrySet()) {
+      relocatedResults.put(subdirectory + "/" + entry.getKey(), entry.getValue());
+    }
+    return relocatedResults;
+  }
+
+  @Override
+  public boolean generate(GeneratedResultConsumer<T> consumer) throws IOException {
+    return generator.generate((path, result) -> consumer.accept(subdirectory + "/" + path, result));
+  }
+}
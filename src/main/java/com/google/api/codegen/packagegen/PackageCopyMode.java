@@ -0,0 +1,45 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.packagegen;
+
+import java.util.Locale;
+
+/** How a package generator copies the files of its input directory into the output directory. */
+public enum PackageCopyMode {
+  /** Copies every file, replacing the file already in the output directory. */
+  COPY,
+
+  /**
+   * Copies only the files whose destination is missing or differs from them. A destination with
+   * the same size and modification time is taken to be unchanged; one with the same size but a
+   * different modification time is compared byte by byte.
+   */
+  INCREMENTAL,
+
+  /**
+   * Hard links the files into the output directory, and copies them incrementally where the file
+   * system cannot link them, e.g. when the output directory is on another device. The linked output
+   * files share their contents with the input files, so they must not be edited in place: the
+   * files generated into the output directory replace them instead.
+   */
+  LINK;
+
+  public static PackageCopyMode of(String copyModeString) {
+    if (copyModeString == null) {
+      return COPY;
+    }
+    return PackageCopyMode.valueOf(copyModeString.toUpperCase(Locale.ROOT));
+  }
+}
@@ -33,6 +33,8 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Map;
 
 /** ToolDriver for gRPC meta-data generation. */
@@ -68,6 +70,19 @@ public class PackageGeneratorApp extends ToolDriverBase {
           "artifact_type",
           "The artifacts to be generated by the metadata generator.",
           null);
+  public static final Option<PackageCopyMode> COPY_MODE =
+      ToolOptions.createOption(
+          PackageCopyMode.class,
+          "copy_mode",
+          "How the files of the input folder are copied into the output folder.",
+          PackageCopyMode.COPY);
+  public static final Option<Integer> COPY_THREADS =
+      ToolOptions.createOption(
+          Integer.class,
+          "copy_threads",
+          "The number of threads copying the files of the input folder. Defaults to the number of "
+              + "available processors.",
+          Runtime.getRuntime().availableProcessors());
 
   private URL dependenciesYamlUrl;
 
@@ -91,7 +106,13 @@ public class PackageGeneratorApp extends ToolDriverBase {
       return;
     }
     Map<String, GeneratedResult<Doc>> results = generate(model);
-    ToolUtil.writeFiles(GeneratedResult.extractBodies(results), options.get(OUTPUT_DIR));
+    Map<String, Doc> outputFiles = GeneratedResult.extractBodies(results);
+    // The files copied in LINK mode share their contents with the input files, so the generated
+    // files replace them rather than being written into them.
+    for (String path : outputFiles.keySet()) {
+      Files.deleteIfExists(Paths.get(options.get(OUTPUT_DIR), path));
+    }
+    ToolUtil.writeFiles(outputFiles, options.get(OUTPUT_DIR));
   }
 
   protected Map<String, GeneratedResult<Doc>> generate(Model model) throws IOException {
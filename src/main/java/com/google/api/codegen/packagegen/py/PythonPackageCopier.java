@@ -16,12 +16,18 @@ package com.google.api.codegen.packagegen.py;
 
 import com.google.api.codegen.common.GeneratedResult;
 import com.google.api.codegen.config.PackageMetadataConfig;
+import com.google.api.codegen.packagegen.PackageCopyMode;
 import com.google.api.codegen.packagegen.PackageGeneratorApp;
 import com.google.api.tools.framework.snippet.Doc;
 import com.google.api.tools.framework.tools.ToolOptions;
 import com.google.common.base.Joiner;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.io.MoreFiles;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystemException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -31,14 +37,22 @@ import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import java.util.logging.Logger;
 
 /** A copier specialized to calculate Python namespace packages and generate __init__.py files. */
 public class PythonPackageCopier {
+  private static final Logger LOGGER = Logger.getLogger(PythonPackageCopier.class.getName());
 
-  /** Copies gRPC source while computing namespace packages and generating __init__.py. */
+  /** Lists gRPC source while computing namespace packages and generating __init__.py. */
   private class PythonPackageFileVisitor extends SimpleFileVisitor<Path> {
     ImmutableMap.Builder<String, GeneratedResult<Doc>> docBuilder = new ImmutableMap.Builder<>();
     List<String> pythonNamespacePackages = new ArrayList<>();
+    List<Path> files = new ArrayList<>();
     Path inputPath;
     Path outputPath;
     String apiVersion;
@@ -56,10 +70,8 @@ public class PythonPackageCopier {
     }
 
     @Override
-    public FileVisitResult visitFile(Path file, BasicFileAttributes attr) throws IOException {
-      Path destination = outputPath.resolve(inputPath.relativize(file));
-      Files.createDirectories(destination.getParent());
-      Files.copy(file, destination, StandardCopyOption.REPLACE_EXISTING);
+    public FileVisitResult visitFile(Path file, BasicFileAttributes attr) {
+      files.add(inputPath.relativize(file));
       return FileVisitResult.CONTINUE;
     }
 
@@ -93,24 +105,164 @@ public class PythonPackageCopier {
     public ImmutableMap.Builder<String, GeneratedResult<Doc>> getDocBuilder() {
       return docBuilder;
     }
+
+    /** The paths of the files of the gRPC source, relative to the input path. */
+    public List<Path> getFiles() {
+      return files;
+    }
   }
 
   @SuppressWarnings("unchecked")
   public PythonPackageCopierResult run(ToolOptions options, PackageMetadataConfig config)
       throws IOException {
-    // Copy files from dir into map, and fill in namespace result
+    // List files from dir, and fill in namespace result
     // Run __init__ snippet in each dir that deserves it
+    Path inputPath = Paths.get(options.get(PackageGeneratorApp.INPUT_DIR));
+    Path outputPath = Paths.get(options.get(PackageGeneratorApp.OUTPUT_DIR));
     PythonPackageFileVisitor visitor =
-        new PythonPackageFileVisitor(
-            Paths.get(options.get(PackageGeneratorApp.INPUT_DIR)),
-            Paths.get(options.get(PackageGeneratorApp.OUTPUT_DIR)),
-            config.apiVersion());
+        new PythonPackageFileVisitor(inputPath, outputPath, config.apiVersion());
 
-    Files.walkFileTree(Paths.get(options.get(PackageGeneratorApp.INPUT_DIR)), visitor);
+    Files.walkFileTree(inputPath, visitor);
 
     List<String> pythonNamespacePackages = visitor.getNamespacePackages();
-    ImmutableMap.Builder<String, GeneratedResult<Doc>> docBuilder = visitor.getDocBuilder();
+    ImmutableMap<String, GeneratedResult<Doc>> docs = visitor.getDocBuilder().build();
+
+    // Then copy the listed files into the output dir
+    PackageCopyMode copyMode = options.get(PackageGeneratorApp.COPY_MODE);
+    long startNanos = System.nanoTime();
+    long bytesCopied =
+        copyFiles(
+            inputPath,
+            outputPath,
+            visitor.getFiles(),
+            copyMode,
+            options.get(PackageGeneratorApp.COPY_THREADS),
+            docs.keySet());
+    LOGGER.fine(
+        () ->
+            String.format(
+                "Copied %d bytes of %d files in %s mode in %d ms",
+                bytesCopied,
+                visitor.getFiles().size(),
+                copyMode,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)));
 
-    return PythonPackageCopierResult.createPython(pythonNamespacePackages, docBuilder.build());
+    return PythonPackageCopierResult.createPython(pythonNamespacePackages, docs, bytesCopied);
+  }
+
+  /**
+   * Copies files from the input path to the output path, concurrently on a dedicated ForkJoinPool
+   * when more than one copy thread is given, and returns the number of bytes actually copied.
+   *
+   * @param files The paths of the files to copy, relative to the input path.
+   * @param generatedFiles The relative paths of the files generated into the output path after
+   *     copying, which are never linked so that the input files are left untouched.
+   */
+  private static long copyFiles(
+      Path inputPath,
+      Path outputPath,
+      List<Path> files,
+      PackageCopyMode copyMode,
+      int copyThreads,
+      Set<String> generatedFiles)
+      throws IOException {
+    ToLongFunction<Path> copy =
+        file -> {
+          try {
+            return copyFile(
+                inputPath.resolve(file),
+                outputPath.resolve(file),
+                copyMode,
+                isLinkable(file, generatedFiles));
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        };
+    if (copyThreads <= 1 || files.size() <= 1) {
+      try {
+        return files.stream().mapToLong(copy).sum();
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(copyThreads);
+    try {
+      return pool.submit(() -> files.parallelStream().mapToLong(copy).sum()).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while copying " + inputPath);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) e.getCause()).getCause();
+      }
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Whether a file may be hard linked into the output path. Files at the top of the package, where
+   * the package metadata is generated, and __init__.py files may be overwritten after copying.
+   */
+  private static boolean isLinkable(Path file, Set<String> generatedFiles) {
+    return file.getNameCount() > 1 && !generatedFiles.contains(file.toString());
+  }
+
+  /** Copies a single file in the given mode, and returns the number of bytes actually copied. */
+  private static long copyFile(
+      Path source, Path destination, PackageCopyMode copyMode, boolean linkable)
+      throws IOException {
+    Files.createDirectories(destination.getParent());
+    switch (copyMode) {
+      case COPY:
+        Files.copy(source, destination, StandardCopyOption.REPLACE_EXISTING);
+        return Files.size(destination);
+      case LINK:
+        if (linkable) {
+          if (Files.exists(destination) && Files.isSameFile(source, destination)) {
+            return 0;
+          }
+          try {
+            Files.deleteIfExists(destination);
+            Files.createLink(destination, source);
+            return 0;
+          } catch (UnsupportedOperationException | FileSystemException e) {
+            // Linking across devices or on this file system is not possible; copy instead
+          }
+        }
+        return copyIfChanged(source, destination);
+      case INCREMENTAL:
+        return copyIfChanged(source, destination);
+      default:
+        throw new IllegalArgumentException("Unhandled copy mode: " + copyMode);
+    }
+  }
+
+  /**
+   * Copies a file unless the destination has the same contents. The modification time is copied
+   * along, so that the next run finds the destination unchanged without reading it.
+   */
+  private static long copyIfChanged(Path source, Path destination) throws IOException {
+    BasicFileAttributes sourceAttributes =
+        Files.readAttributes(source, BasicFileAttributes.class);
+    if (Files.isRegularFile(destination)) {
+      BasicFileAttributes destinationAttributes =
+          Files.readAttributes(destination, BasicFileAttributes.class);
+      if (sourceAttributes.size() == destinationAttributes.size()
+          && (sourceAttributes.lastModifiedTime().equals(destinationAttributes.lastModifiedTime())
+              || MoreFiles.asByteSource(source)
+                  .contentEquals(MoreFiles.asByteSource(destination)))) {
+        return 0;
+      }
+    }
+    Files.copy(
+        source,
+        destination,
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.COPY_ATTRIBUTES);
+    return sourceAttributes.size();
   }
 }
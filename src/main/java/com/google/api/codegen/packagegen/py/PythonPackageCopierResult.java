@@ -24,10 +24,11 @@ import javax.annotation.Nullable;
 @AutoValue
 public abstract class PythonPackageCopierResult {
   public static PythonPackageCopierResult createPython(
-      List<String> namespacePackages, Map<String, GeneratedResult<Doc>> docs) {
+      List<String> namespacePackages, Map<String, GeneratedResult<Doc>> docs, long bytesCopied) {
     return new AutoValue_PythonPackageCopierResult.Builder()
         .namespacePackages(namespacePackages)
         .results(docs)
+        .bytesCopied(bytesCopied)
         .build();
   }
 
@@ -40,12 +41,20 @@ public abstract class PythonPackageCopierResult {
   /** Docs to be added to the output results map in the template rendering phase. */
   public abstract Map<String, GeneratedResult<Doc>> results();
 
+  /**
+   * The number of bytes actually copied from the input folder, which excludes the files that were
+   * found unchanged or were linked.
+   */
+  public abstract long bytesCopied();
+
   @AutoValue.Builder
   protected abstract static class Builder {
     public abstract Builder namespacePackages(List<String> val);
 
     public abstract Builder results(Map<String, GeneratedResult<Doc>> val);
 
+    public abstract Builder bytesCopied(long val);
+
     public abstract PythonPackageCopierResult build();
   }
 }
@@ -0,0 +1,138 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.rendering;
+
+import com.google.api.codegen.util.CommonRenderingUtil;
+import com.google.api.codegen.util.csharp.CSharpRenderingUtil;
+import com.google.api.codegen.util.java.JavaRenderingUtil;
+import com.google.api.codegen.util.py.PythonRenderingUtil;
+import com.google.api.tools.framework.snippet.SnippetSet;
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A process-wide cache of parsed snippet sets, so that each snippet file is parsed once per run
+ * instead of once per generated file.
+ *
+ * <p>Snippet sets are keyed by their interface, resource root, template file name and the class of
+ * the util object bound as the {@code util} global. The util object instance which is bound is the
+ * one passed on the first lookup for a key, so snippet sets are only cached for the stateless
+ * rendering utils. Snippet sets bound to any other util object, such as a view model, are parsed on
+ * every lookup, and never retain that object.
+ */
+public class SnippetSetCache {
+  private static final SnippetSetCache INSTANCE = new SnippetSetCache();
+
+  private static final ImmutableSet<Class<?>> STATELESS_UTIL_CLASSES =
+      ImmutableSet.of(
+          CommonRenderingUtil.class,
+          CSharpRenderingUtil.class,
+          JavaRenderingUtil.class,
+          PythonRenderingUtil.class);
+
+  private final ConcurrentMap<Key, Object> snippetSets = new ConcurrentHashMap<>();
+  private final AtomicLong requestCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+
+  /** Returns the process-wide cache instance. */
+  public static SnippetSetCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns the snippet interface for the given template, parsing the template if it is not cached
+   * yet.
+   */
+  public <T> T get(
+      Class<T> snippetInterface, String resourceRoot, String templateFileName, Object utilObject) {
+    requestCount.incrementAndGet();
+    if (!STATELESS_UTIL_CLASSES.contains(utilObject.getClass())) {
+      missCount.incrementAndGet();
+      return createSnippetInterface(snippetInterface, resourceRoot, templateFileName, utilObject);
+    }
+    Key key = Key.create(snippetInterface, resourceRoot, templateFileName, utilObject.getClass());
+    Object snippets =
+        snippetSets.computeIfAbsent(
+            key,
+            k -> {
+              missCount.incrementAndGet();
+              return createSnippetInterface(
+                  snippetInterface, resourceRoot, templateFileName, utilObject);
+            });
+    return snippetInterface.cast(snippets);
+  }
+
+  private static <T> T createSnippetInterface(
+      Class<T> snippetInterface, String resourceRoot, String templateFileName, Object utilObject) {
+    return SnippetSet.createSnippetInterface(
+        snippetInterface, resourceRoot, templateFileName, ImmutableMap.of("util", utilObject));
+  }
+
+  /** Discards the cached snippet sets parsed from the given template file. */
+  public void invalidate(String resourceRoot, String templateFileName) {
+    snippetSets
+        .keySet()
+        .removeIf(
+            key ->
+                key.resourceRoot().equals(resourceRoot)
+                    && key.templateFileName().equals(templateFileName));
+  }
+
+  /** Discards all cached snippet sets and resets the hit and miss counts. */
+  public void invalidateAll() {
+    snippetSets.clear();
+    requestCount.set(0);
+    missCount.set(0);
+  }
+
+  /** Returns the number of lookups answered from the cache. */
+  public long hitCount() {
+    return requestCount.get() - missCount.get();
+  }
+
+  /** Returns the number of lookups which required parsing a snippet file. */
+  public long missCount() {
+    return missCount.get();
+  }
+
+  /** Returns the number of cached snippet sets. */
+  public int size() {
+    return snippetSets.size();
+  }
+
+  @AutoValue
+  abstract static class Key {
+    abstract Class<?> snippetInterface();
+
+    abstract String resourceRoot();
+
+    abstract String templateFileName();
+
+    abstract Class<?> utilClass();
+
+    static Key create(
+        Class<?> snippetInterface,
+        String resourceRoot,
+        String templateFileName,
+        Class<?> utilClass) {
+      return new AutoValue_SnippetSetCache_Key(
+          snippetInterface, resourceRoot, templateFileName, utilClass);
+    }
+  }
+}
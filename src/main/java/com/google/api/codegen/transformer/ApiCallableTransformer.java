@@ -33,6 +33,7 @@ import com.google.api.codegen.util.Name;
 import com.google.api.codegen.viewmodel.ApiCallSettingsView;
 import com.google.api.codegen.viewmodel.ApiCallableImplType;
 import com.google.api.codegen.viewmodel.ApiCallableView;
+import com.google.api.codegen.viewmodel.HeaderRequestParamView;
 import com.google.api.codegen.viewmodel.HttpMethodView;
 import com.google.api.codegen.viewmodel.LongRunningOperationDetailView;
 import com.google.api.codegen.viewmodel.MethodDescriptorView;
@@ -397,11 +398,20 @@ public class ApiCallableTransformer {
     methodDescriptorBuilder.fullServiceName(context.getTargetInterface().getFullName());
     methodDescriptorBuilder.transportSettingsVar(namer.getTransportSettingsVar(method));
 
-    methodDescriptorBuilder.headerRequestParams(
-        headerRequestParamTransformer.generateHeaderRequestParams(context));
+    List<HeaderRequestParamView> headerRequestParams =
+        headerRequestParamTransformer.generateHeaderRequestParams(context);
+    methodDescriptorBuilder.headerRequestParams(headerRequestParams);
+    methodDescriptorBuilder.inlineHeaderRequestParams(
+        headerRequestParamTransformer.canInlineHeaderRequestParams(headerRequestParams));
 
     methodDescriptorBuilder.httpMethod(generateHttpFields(context));
 
+    if (context.getFeatureConfig().enableJsonCodecs() && !method.isOutputTypeEmpty()) {
+      String responseTypeFullName = typeTable.getFullNameFor(method.getOutputType());
+      methodDescriptorBuilder.responseJsonCodecName(
+          typeTable.getAndSaveNicknameFor(namer.getJsonCodecClassName(responseTypeFullName)));
+    }
+
     return methodDescriptorBuilder.build();
   }
 }
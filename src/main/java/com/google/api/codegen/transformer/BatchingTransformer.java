@@ -75,6 +75,7 @@ public class BatchingTransformer {
 
     batchingConfigView.elementCountThreshold(batchingConfig.getElementCountThreshold());
     batchingConfigView.requestByteThreshold(batchingConfig.getRequestByteThreshold());
+    batchingConfigView.requestByteLimit(batchingConfig.getRequestByteLimit());
     batchingConfigView.delayThresholdMillis(batchingConfig.getDelayThresholdMillis());
     batchingConfigView.flowControlElementLimit(batchingConfig.getFlowControlElementLimit());
     batchingConfigView.flowControlByteLimit(batchingConfig.getFlowControlByteLimit());
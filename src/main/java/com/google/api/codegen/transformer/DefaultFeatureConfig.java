@@ -90,4 +90,9 @@ public class DefaultFeatureConfig implements FeatureConfig {
   public boolean enableRawOperationCallSettings() {
     return false;
   }
+
+  @Override
+  public boolean enableJsonCodecs() {
+    return false;
+  }
 }
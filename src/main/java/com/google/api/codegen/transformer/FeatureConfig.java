@@ -73,4 +73,7 @@ public interface FeatureConfig {
 
   /** Returns true if a raw operation call settings method should be generated. */
   boolean enableRawOperationCallSettings();
+
+  /** Returns true if HTTP/JSON stubs parse responses with generated, schema-specific codecs. */
+  boolean enableJsonCodecs();
 }
@@ -26,6 +26,9 @@ import com.google.common.collect.ImmutableList;
 import java.util.List;
 
 public class HeaderRequestParamTransformer {
+  // The most key-value pairs ImmutableMap.of accepts.
+  private static final int MAX_INLINE_HEADER_REQUEST_PARAMS = 5;
+
   public List<HeaderRequestParamView> generateHeaderRequestParams(MethodContext context) {
     if (!context.getProductConfig().getTransportProtocol().equals(TransportProtocol.GRPC)) {
       return ImmutableList.of();
@@ -50,6 +53,14 @@ public class HeaderRequestParamTransformer {
     return headerRequestParams.build();
   }
 
+  /**
+   * Returns whether generated code can pass the header request params straight to ImmutableMap.of
+   * instead of collecting them with a map builder on every call.
+   */
+  public boolean canInlineHeaderRequestParams(List<HeaderRequestParamView> headerRequestParams) {
+    return headerRequestParams.size() <= MAX_INLINE_HEADER_REQUEST_PARAMS;
+  }
+
   private HeaderRequestParamView generateHeaderRequestParam(
       String headerRequestParam, MessageType inputMessageType, SurfaceNamer namer) {
     String[] fieldNameTokens = headerRequestParam.split("\\.");
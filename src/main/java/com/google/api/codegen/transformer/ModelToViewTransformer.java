@@ -17,6 +17,7 @@ package com.google.api.codegen.transformer;
 import com.google.api.codegen.config.ApiModel;
 import com.google.api.codegen.config.GapicProductConfig;
 import com.google.api.codegen.viewmodel.ViewModel;
+import com.google.api.tools.framework.model.DiagCollector;
 import java.util.List;
 
 /**
@@ -28,6 +29,15 @@ public interface ModelToViewTransformer<ApiModelT extends ApiModel> {
   /** Generate a list of ViewModels from a given ApiModel. */
   List<ViewModel> transform(ApiModelT model, GapicProductConfig productConfig);
 
+  /**
+   * Generate a list of ViewModels from a given ApiModel, reporting errors found in the config to
+   * the given collector.
+   */
+  default List<ViewModel> transform(
+      ApiModelT model, GapicProductConfig productConfig, DiagCollector diagCollector) {
+    return transform(model, productConfig);
+  }
+
   /** The list of template filenames the ViewModels apply to. */
   List<String> getTemplateFileNames();
 }
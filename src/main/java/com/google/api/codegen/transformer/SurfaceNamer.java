@@ -676,6 +676,11 @@ public class SurfaceNamer extends NameFormatterDelegator {
     return getNotImplementedString("SurfaceNamer.getByteLengthFunctionName");
   }
 
+  /** The name of the function creating the client-side bundler of the given method. */
+  public String getBatchingBundlerConstructorName(MethodModel method) {
+    return getNotImplementedString("SurfaceNamer.getBatchingBundlerConstructorName");
+  }
+
   /////////////////////////////////////// Variable names //////////////////////////////////////////
 
   /**
@@ -995,6 +1000,21 @@ public class SurfaceNamer extends NameFormatterDelegator {
     return getNotImplementedString("SurfaceNamer.getAndSaveOperationResponseTypeName");
   }
 
+  /** The type name of the client-side bundler batching the requests of the given method. */
+  public String getBatchingBundlerTypeName(MethodModel method) {
+    return getNotImplementedString("SurfaceNamer.getBatchingBundlerTypeName");
+  }
+
+  /** The type name of the result of a request added to the bundler of the given method. */
+  public String getBatchingResultTypeName(MethodModel method) {
+    return getNotImplementedString("SurfaceNamer.getBatchingResultTypeName");
+  }
+
+  /** The type name of an element held by the bundler of the given method. */
+  public String getBatchingElementTypeName(MethodModel method) {
+    return getNotImplementedString("SurfaceNamer.getBatchingElementTypeName");
+  }
+
   /** The async return type name in a static language that is used by the caller */
   public String getStaticLangCallerAsyncReturnTypeName(MethodContext methodContext) {
     return getStaticLangAsyncReturnTypeName(methodContext);
@@ -1739,6 +1759,16 @@ public class SurfaceNamer extends NameFormatterDelegator {
     return publicClassName(protocolName.join(Name.anyCamel("TransportChannel")));
   }
 
+  /** The name of the generated class that streams messages of the given type to and from JSON. */
+  public String getJsonCodecClassName(String messageTypeName) {
+    return getNotImplementedString("SurfaceNamer.getJsonCodecClassName");
+  }
+
+  /** The name of the function of a JSON codec that reads the given repeated or map field. */
+  public String getJsonCodecReadFunctionName(FieldModel field) {
+    return getNotImplementedString("SurfaceNamer.getJsonCodecReadFunctionName");
+  }
+
   ////////////////////////////////////////// Utility /////////////////////////////////////////////
 
   /** Indicates whether the specified method supports retry settings. */
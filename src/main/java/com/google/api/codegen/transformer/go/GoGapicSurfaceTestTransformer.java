@@ -15,6 +15,8 @@
 package com.google.api.codegen.transformer.go;
 
 import com.google.api.codegen.config.ApiModel;
+import com.google.api.codegen.config.BatchingConfig;
+import com.google.api.codegen.config.FieldModel;
 import com.google.api.codegen.config.GapicInterfaceContext;
 import com.google.api.codegen.config.GapicMethodContext;
 import com.google.api.codegen.config.GapicProductConfig;
@@ -24,11 +26,13 @@ import com.google.api.codegen.config.InterfaceModel;
 import com.google.api.codegen.config.MethodContext;
 import com.google.api.codegen.config.MethodModel;
 import com.google.api.codegen.config.ProtoApiModel;
+import com.google.api.codegen.config.TypeModel;
 import com.google.api.codegen.metacode.InitCodeContext;
 import com.google.api.codegen.metacode.InitCodeContext.InitCodeOutputType;
 import com.google.api.codegen.transformer.DefaultFeatureConfig;
 import com.google.api.codegen.transformer.FeatureConfig;
 import com.google.api.codegen.transformer.FileHeaderTransformer;
+import com.google.api.codegen.transformer.ImportTypeTable;
 import com.google.api.codegen.transformer.InitCodeTransformer;
 import com.google.api.codegen.transformer.MockServiceTransformer;
 import com.google.api.codegen.transformer.ModelToViewTransformer;
@@ -36,6 +40,7 @@ import com.google.api.codegen.transformer.ModelTypeTable;
 import com.google.api.codegen.transformer.StaticLangApiMethodTransformer;
 import com.google.api.codegen.transformer.SurfaceNamer;
 import com.google.api.codegen.transformer.TestCaseTransformer;
+import com.google.api.codegen.util.Name;
 import com.google.api.codegen.util.SymbolTable;
 import com.google.api.codegen.util.testing.StandardValueProducer;
 import com.google.api.codegen.util.testing.TestValueGenerator;
@@ -181,13 +186,48 @@ public class GoGapicSurfaceTestTransformer implements ModelToViewTransformer<Pro
               methodContext.getMethodConfig().getRequiredFieldConfigs(),
               InitCodeOutputType.SingleObject,
               valueGenerator);
-      testCaseViews.add(
+      TestCaseView testCaseView =
           testCaseTransformer.createTestCaseView(
-              methodContext, testNameTable, initCodeContext, clientMethodType));
+              methodContext, testNameTable, initCodeContext, clientMethodType);
+      if (GoGapicSurfaceTransformer.hasBatchingBundler(context, method)) {
+        testCaseView = addBatchingBundler(methodContext, testCaseView);
+      }
+      testCaseViews.add(testCaseView);
     }
     return testCaseViews;
   }
 
+  /**
+   * Adds the bundler of the method to its test, which sends it two requests of two elements each,
+   * and expects a subresponse for each of the elements.
+   */
+  private TestCaseView addBatchingBundler(MethodContext context, TestCaseView testCaseView) {
+    ImportTypeTable typeTable = context.getTypeTable();
+    BatchingConfig batching = context.getMethodConfig().getBatching();
+    TestCaseView.Builder testCase = testCaseView.toBuilder();
+    testCase.batchingBundler(GoGapicSurfaceTransformer.generateBatchingBundler(context));
+    testCase.batchedElementValue(
+        typeTable.getSnippetZeroValueAndSaveNicknameFor(
+            batching.getBatchedField().getType().makeOptional()));
+    if (batching.hasSubresponseField()) {
+      FieldModel subresponseField = batching.getSubresponseField();
+      TypeModel elementType = subresponseField.getType().makeOptional();
+      List<String> subresponseValues = new ArrayList<>();
+      for (int i = 1; i <= 4; i++) {
+        if (elementType.isPrimitive()) {
+          Name identifier = Name.from(subresponseField.getSimpleName(), "subresponse", "" + i);
+          subresponseValues.add(
+              typeTable.renderPrimitiveValue(
+                  elementType, valueGenerator.getAndStoreValue(elementType, identifier)));
+        } else {
+          subresponseValues.add(typeTable.getSnippetZeroValueAndSaveNicknameFor(elementType));
+        }
+      }
+      testCase.subresponseValues(subresponseValues);
+    }
+    return testCase.build();
+  }
+
   private SmokeTestClassView createSmokeTestClassView(InterfaceContext context) {
     SurfaceNamer namer = context.getNamer();
 
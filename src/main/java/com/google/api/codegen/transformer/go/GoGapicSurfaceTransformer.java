@@ -16,9 +16,12 @@ package com.google.api.codegen.transformer.go;
 
 import com.google.api.codegen.RetryParamsDefinitionProto;
 import com.google.api.codegen.config.ApiModel;
+import com.google.api.codegen.config.BatchingConfig;
+import com.google.api.codegen.config.FieldModel;
 import com.google.api.codegen.config.GapicInterfaceConfig;
 import com.google.api.codegen.config.GapicInterfaceContext;
 import com.google.api.codegen.config.GapicProductConfig;
+import com.google.api.codegen.config.GenericFieldSelector;
 import com.google.api.codegen.config.InterfaceConfig;
 import com.google.api.codegen.config.InterfaceContext;
 import com.google.api.codegen.config.InterfaceModel;
@@ -31,6 +34,7 @@ import com.google.api.codegen.config.ProtoApiModel;
 import com.google.api.codegen.config.ProtoInterfaceModel;
 import com.google.api.codegen.gapic.GapicCodePathMapper;
 import com.google.api.codegen.transformer.ApiCallableTransformer;
+import com.google.api.codegen.transformer.BatchingTransformer;
 import com.google.api.codegen.transformer.DefaultFeatureConfig;
 import com.google.api.codegen.transformer.FeatureConfig;
 import com.google.api.codegen.transformer.FileHeaderTransformer;
@@ -45,6 +49,7 @@ import com.google.api.codegen.transformer.StaticLangApiMethodTransformer;
 import com.google.api.codegen.transformer.SurfaceNamer;
 import com.google.api.codegen.util.CommonRenderingUtil;
 import com.google.api.codegen.util.go.GoTypeTable;
+import com.google.api.codegen.viewmodel.BatchingBundlerView;
 import com.google.api.codegen.viewmodel.ImportSectionView;
 import com.google.api.codegen.viewmodel.LongRunningOperationDetailView;
 import com.google.api.codegen.viewmodel.PackageInfoView;
@@ -55,6 +60,9 @@ import com.google.api.codegen.viewmodel.StaticLangApiMethodView;
 import com.google.api.codegen.viewmodel.StaticLangClientExampleFileView;
 import com.google.api.codegen.viewmodel.StaticLangClientFileView;
 import com.google.api.codegen.viewmodel.ViewModel;
+import com.google.api.tools.framework.model.Diag;
+import com.google.api.tools.framework.model.DiagCollector;
+import com.google.api.tools.framework.model.SimpleLocation;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -107,6 +115,12 @@ public class GoGapicSurfaceTransformer implements ModelToViewTransformer<ProtoAp
 
   @Override
   public List<ViewModel> transform(ProtoApiModel model, GapicProductConfig productConfig) {
+    return transform(model, productConfig, model.getDiagCollector());
+  }
+
+  @Override
+  public List<ViewModel> transform(
+      ProtoApiModel model, GapicProductConfig productConfig, DiagCollector diagCollector) {
     List<ViewModel> models = new ArrayList<>();
     GoSurfaceNamer namer = new GoSurfaceNamer(productConfig.getPackageName());
     for (InterfaceModel apiInterface : model.getInterfaces(productConfig)) {
@@ -117,6 +131,9 @@ public class GoGapicSurfaceTransformer implements ModelToViewTransformer<ProtoAp
       GapicInterfaceContext context =
           GapicInterfaceContext.create(
               apiInterface, productConfig, createTypeTable(), namer, featureConfig);
+      if (!checkBatchingDiscriminators(context, diagCollector)) {
+        continue;
+      }
       models.add(generate(context));
 
       context =
@@ -185,10 +202,13 @@ public class GoGapicSurfaceTransformer implements ModelToViewTransformer<ProtoAp
     }
     view.lroDetailViews(new ArrayList<>(lros.values()));
 
+    view.batchingBundlers(generateBatchingBundlers(context));
+
     view.serviceHostname(productServiceConfig.getServiceHostname(context.getServiceAddress()));
     view.servicePort(productServiceConfig.getServicePort(context.getServiceAddress()));
 
     view.stubs(grpcStubTransformer.generateGrpcStubs(context));
+    view.grpcConnectionPoolSize(productConfig.getGrpcConnectionPoolSize());
 
     addXApiImports(context, context.getSupportedMethods());
     view.fileHeader(fileHeaderTransformer.generateFileHeader(context));
@@ -279,6 +299,118 @@ public class GoGapicSurfaceTransformer implements ModelToViewTransformer<ProtoAp
     return apiMethods;
   }
 
+  @VisibleForTesting
+  List<BatchingBundlerView> generateBatchingBundlers(InterfaceContext context) {
+    List<BatchingBundlerView> bundlers = new ArrayList<>();
+    for (MethodModel method : context.getBatchingMethods()) {
+      if (hasBatchingBundler(context, method)) {
+        bundlers.add(generateBatchingBundler(context.asRequestMethodContext(method)));
+      }
+    }
+    return bundlers;
+  }
+
+  static boolean hasBatchingBundler(InterfaceContext context, MethodModel method) {
+    return isBundlingMethod(context, method)
+        && getNonScalarDiscriminators(context.getMethodConfig(method).getBatching()).isEmpty();
+  }
+
+  /** Bundlers only batch the calls of unary methods returning a plain response. */
+  private static boolean isBundlingMethod(InterfaceContext context, MethodModel method) {
+    MethodConfig methodConfig = context.getMethodConfig(method);
+    return methodConfig.isBatching()
+        && !method.getRequestStreaming()
+        && !method.getResponseStreaming()
+        && !methodConfig.isPageStreaming()
+        && !context.asRequestMethodContext(method).isLongRunningMethodContext();
+  }
+
+  /**
+   * Reports the discriminators of the bundlers of the interface selecting a field that is not
+   * scalar, and returns whether there are none.
+   */
+  private static boolean checkBatchingDiscriminators(
+      InterfaceContext context, DiagCollector diagCollector) {
+    boolean valid = true;
+    for (MethodModel method : context.getBatchingMethods()) {
+      if (!isBundlingMethod(context, method)) {
+        continue;
+      }
+      for (String discriminator :
+          getNonScalarDiscriminators(context.getMethodConfig(method).getBatching())) {
+        diagCollector.addDiag(
+            Diag.error(
+                SimpleLocation.TOPLEVEL,
+                "Batching discriminator %s of method %s must select a scalar field",
+                discriminator,
+                method.getFullName()));
+        valid = false;
+      }
+    }
+    return valid;
+  }
+
+  /**
+   * The bundlers are keyed by the printed values of the discriminators, which only identify the
+   * requests to batch together for scalar values, and not for pointers to messages.
+   */
+  private static List<String> getNonScalarDiscriminators(BatchingConfig batching) {
+    List<String> discriminators = new ArrayList<>();
+    for (GenericFieldSelector discriminator : batching.getDiscriminatorFields()) {
+      FieldModel lastField = discriminator.getLastField();
+      if (lastField.isMessage() || lastField.isMap() || lastField.isRepeated()) {
+        discriminators.add(discriminator.getParamName());
+      }
+    }
+    return discriminators;
+  }
+
+  static BatchingBundlerView generateBatchingBundler(MethodContext context) {
+    SurfaceNamer namer = context.getNamer();
+    ImportTypeTable typeTable = context.getTypeTable();
+    MethodModel method = context.getMethodModel();
+    BatchingConfig batching = context.getMethodConfig().getBatching();
+    FieldModel batchedField = batching.getBatchedField();
+
+    BatchingBundlerView.Builder bundler = BatchingBundlerView.newBuilder();
+    bundler.typeName(namer.getBatchingBundlerTypeName(method));
+    bundler.constructorName(namer.getBatchingBundlerConstructorName(method));
+    bundler.resultTypeName(namer.getBatchingResultTypeName(method));
+    bundler.elementTypeName(namer.getBatchingElementTypeName(method));
+    bundler.methodName(namer.getApiMethodName(method, context.getMethodConfig().getVisibility()));
+    bundler.requestTypeName(method.getAndSaveRequestTypeName(typeTable, namer));
+    if (!method.isOutputTypeEmpty()) {
+      bundler.responseTypeName(method.getAndSaveResponseTypeName(typeTable, namer));
+    }
+
+    bundler.batchedFieldName(namer.getFieldGetFunctionName(batchedField));
+    bundler.batchedElementTypeName(typeTable.getAndSaveNicknameForElementType(batchedField));
+    bundler.byteLengthFunctionName(namer.getByteLengthFunctionName(batchedField));
+
+    List<String> discriminatorFieldNames = new ArrayList<>();
+    List<List<String>> discriminatorGettersChains = new ArrayList<>();
+    for (GenericFieldSelector discriminator : batching.getDiscriminatorFields()) {
+      discriminatorFieldNames.add(discriminator.getParamName());
+      List<String> gettersChain = new ArrayList<>();
+      for (FieldModel field : discriminator.getFields()) {
+        gettersChain.add(namer.getFieldGetFunctionName(field));
+      }
+      discriminatorGettersChains.add(gettersChain);
+    }
+    bundler.discriminatorFieldNames(discriminatorFieldNames);
+    bundler.discriminatorGettersChains(discriminatorGettersChains);
+
+    if (batching.hasSubresponseField()) {
+      FieldModel subresponseField = batching.getSubresponseField();
+      bundler.subresponseFieldName(namer.getFieldGetFunctionName(subresponseField));
+      bundler.subresponseElementTypeName(
+          typeTable.getAndSaveNicknameForElementType(subresponseField));
+    }
+
+    bundler.batchingConfig(new BatchingTransformer().generateBatchingConfig(context));
+    return bundler.build();
+  }
+
   @VisibleForTesting
   List<RetryConfigDefinitionView> generateRetryConfigDefinitions(
       InterfaceContext context, List<MethodModel> methods) {
@@ -328,7 +460,13 @@ public class GoGapicSurfaceTransformer implements ModelToViewTransformer<ProtoAp
     typeTable.saveNicknameFor("google.golang.org/grpc;;;");
     typeTable.saveNicknameFor("github.com/googleapis/gax-go/v2;gax;;");
     typeTable.saveNicknameFor("google.golang.org/api/option;;;");
-    typeTable.saveNicknameFor("google.golang.org/api/transport;;;");
+    if (context.getProductConfig().getGrpcConnectionPoolSize() > 0) {
+      // Pooled clients dial through the gRPC transport, and pick connections in round-robin order.
+      typeTable.saveNicknameFor("google.golang.org/api/transport/grpc;gtransport;;");
+      typeTable.saveNicknameFor("sync/atomic;;;");
+    } else {
+      typeTable.saveNicknameFor("google.golang.org/api/transport;;;");
+    }
     typeTable.saveNicknameFor("google.golang.org/grpc/metadata;;;");
     typeTable.getImports().remove(EMPTY_PROTO_PKG);
     addContextImports(context, ImportContext.CLIENT, methods);
@@ -378,6 +516,9 @@ public class GoGapicSurfaceTransformer implements ModelToViewTransformer<ProtoAp
       if (methodConfig.isPageStreaming()) {
         kinds.add(ImportKind.PAGE_STREAM);
       }
+      if (hasBatchingBundler(interfaceContext, method)) {
+        kinds.add(ImportKind.BATCHING);
+      }
     }
     return kinds;
   }
@@ -398,6 +539,7 @@ public class GoGapicSurfaceTransformer implements ModelToViewTransformer<ProtoAp
     PAGE_STREAM,
     LRO,
     SERVER_STREAM,
+    BATCHING,
   }
 
   private static final ImmutableTable<ImportContext, ImportKind, ImmutableList<String>>
@@ -425,5 +567,14 @@ public class GoGapicSurfaceTransformer implements ModelToViewTransformer<ProtoAp
                   ImportContext.EXAMPLE,
                   ImportKind.SERVER_STREAM,
                   ImmutableList.<String>of("io;;;"))
+              .put(
+                  ImportContext.CLIENT,
+                  ImportKind.BATCHING,
+                  ImmutableList.<String>of(
+                      "fmt;;;",
+                      "sync;;;",
+                      "time;;;",
+                      "github.com/golang/protobuf/proto;;;",
+                      "google.golang.org/api/support/bundler;;;"))
               .build();
 }
@@ -59,7 +59,7 @@ public class GoImportSectionTransformer implements ImportSectionTransformer {
   private boolean isStandardImport(String importPath) {
     // TODO(pongad): Some packages in standard library have slashes,
     // we might have to special case them.
-    if (importPath.equals("net/http")) {
+    if (importPath.equals("net/http") || importPath.equals("sync/atomic")) {
       return true;
     }
     return !importPath.contains("/");
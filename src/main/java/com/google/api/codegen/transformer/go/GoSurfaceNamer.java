@@ -174,6 +174,39 @@ public class GoSurfaceNamer extends SurfaceNamer {
     return publicClassName(name);
   }
 
+  @Override
+  public String getBatchingBundlerTypeName(MethodModel method) {
+    return publicClassName(Name.upperCamel(method.getSimpleName(), "Bundler"));
+  }
+
+  @Override
+  public String getBatchingResultTypeName(MethodModel method) {
+    return publicClassName(Name.upperCamel(method.getSimpleName(), "Result"));
+  }
+
+  @Override
+  public String getBatchingElementTypeName(MethodModel method) {
+    return privateClassName(Name.upperCamel(method.getSimpleName(), "Element"));
+  }
+
+  @Override
+  public String getBatchingBundlerConstructorName(MethodModel method) {
+    return publicMethodName(Name.upperCamel("New", method.getSimpleName(), "Bundler"));
+  }
+
+  @Override
+  public String getByteLengthFunctionName(FieldModel field) {
+    if (field.isMessage()) {
+      return "proto.Size";
+    } else if (field.isString() || field.isBytes()) {
+      return "len";
+    } else {
+      // Numeric fields have no meaningful length to batch them by.
+      throw new IllegalArgumentException(
+          "Can't determine the byte length function for " + field.getKind());
+    }
+  }
+
   @Override
   public String getGrpcServerTypeName(InterfaceModel apiInterface) {
     return converter.getTypeName(apiInterface).getNickname() + "Server";
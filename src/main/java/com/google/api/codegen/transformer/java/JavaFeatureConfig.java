@@ -27,6 +27,9 @@ public abstract class JavaFeatureConfig extends DefaultFeatureConfig {
   @Override
   public abstract boolean enableStringFormatFunctions();
 
+  @Override
+  public abstract boolean enableJsonCodecs();
+
   @Override
   public boolean resourceNameTypesEnabled() {
     return true;
@@ -73,10 +76,17 @@ public abstract class JavaFeatureConfig extends DefaultFeatureConfig {
 
     abstract Builder enableStringFormatFunctions(boolean value);
 
+    abstract Builder enableJsonCodecs(boolean value);
+
     abstract JavaFeatureConfig build();
   }
 
   public static JavaFeatureConfig create(GapicProductConfig productConfig) {
+    return create(productConfig, false);
+  }
+
+  public static JavaFeatureConfig create(
+      GapicProductConfig productConfig, boolean enableJsonCodecs) {
     boolean enableStringFormatFunctions;
 
     if (productConfig.enableStringFormattingFunctionsOverride() != null) {
@@ -90,6 +100,7 @@ public abstract class JavaFeatureConfig extends DefaultFeatureConfig {
     }
     return JavaFeatureConfig.newBuilder()
         .enableStringFormatFunctions(enableStringFormatFunctions)
+        .enableJsonCodecs(enableJsonCodecs)
         .build();
   }
 }
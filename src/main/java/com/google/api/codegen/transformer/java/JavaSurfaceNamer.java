@@ -430,6 +430,16 @@ public class JavaSurfaceNamer extends SurfaceNamer {
     return typeTable.getAndSaveNicknameForElementType(type);
   }
 
+  @Override
+  public String getJsonCodecClassName(String messageTypeName) {
+    return messageTypeName + "JsonCodec";
+  }
+
+  @Override
+  public String getJsonCodecReadFunctionName(FieldModel field) {
+    return privateMethodName(Name.from("read").join(field.getNameAsParameterName()));
+  }
+
   /**
    * Returns the package name of standalone samples.
    *
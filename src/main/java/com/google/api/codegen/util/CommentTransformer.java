@@ -15,27 +15,113 @@
 package com.google.api.codegen.util;
 
 import com.google.common.base.Function;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import javax.annotation.Nullable;
 
+/**
+ * Applies a sequence of regular expression based transformations to comments.
+ *
+ * <p>The patterns of all transformations are fused into a single scanner, so that a comment none
+ * of them matches, which is the common case, is scanned once and returned as is. Transformed
+ * comments are memoized, as the same proto comments are rendered in many places of an API. Only
+ * the most recently used ones are kept, so that the transformers held in static fields do not
+ * retain every comment of every API a long-running process generates.
+ */
 public class CommentTransformer {
 
   public static String CLOUD_URL_PREFIX = "https://cloud.google.com";
 
+  private static final int MAX_TRANSFORMED_COMMENTS = 10000;
+
+  // Patterns with back references may not be fused, as group numbers change meaning inside an
+  // alternation of several patterns.
+  private static final Pattern BACK_REFERENCE_PATTERN = Pattern.compile("\\\\([1-9]|k<)");
+
+  private static final int FUSABLE_FLAGS =
+      Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL | Pattern.UNICODE_CASE;
+
   private ImmutableList<Transformation> transformations;
 
+  // Matches wherever any of the transformations would, or null if their patterns can't be fused.
+  @Nullable private final Pattern fusedPattern;
+
+  private final Cache<String, String> transformedComments =
+      CacheBuilder.newBuilder().maximumSize(MAX_TRANSFORMED_COMMENTS).build();
+
   private CommentTransformer(ImmutableList<Transformation> transformations) {
     this.transformations = transformations;
+    this.fusedPattern = fusePatterns(transformations);
   }
 
   public String transform(String comment) {
+    String transformed = transformedComments.getIfPresent(comment);
+    if (transformed == null) {
+      transformed = transformUncached(comment);
+      transformedComments.put(comment, transformed);
+    }
+    return transformed;
+  }
+
+  private String transformUncached(String comment) {
+    if (fusedPattern != null && !fusedPattern.matcher(comment).find()) {
+      // No transformation matches the comment, and none has changed it for the next to match.
+      return comment;
+    }
     for (Transformation transformation : transformations) {
       comment = transformation.apply(comment);
     }
     return comment;
   }
 
+  @Nullable
+  private static Pattern fusePatterns(List<Transformation> transformations) {
+    if (transformations.isEmpty()) {
+      return null;
+    }
+    StringBuilder fused = new StringBuilder();
+    for (Transformation transformation : transformations) {
+      Pattern pattern = transformation.pattern;
+      if ((pattern.flags() & ~FUSABLE_FLAGS) != 0
+          || BACK_REFERENCE_PATTERN.matcher(pattern.pattern()).find()) {
+        return null;
+      }
+      if (fused.length() > 0) {
+        fused.append('|');
+      }
+      fused.append("(?").append(inlineFlags(pattern.flags())).append(':');
+      fused.append(pattern.pattern()).append(')');
+    }
+    try {
+      return Pattern.compile(fused.toString());
+    } catch (PatternSyntaxException e) {
+      // E.g. two patterns define the same named group.
+      return null;
+    }
+  }
+
+  private static String inlineFlags(int flags) {
+    StringBuilder inlineFlags = new StringBuilder();
+    if ((flags & Pattern.CASE_INSENSITIVE) != 0) {
+      inlineFlags.append('i');
+    }
+    if ((flags & Pattern.MULTILINE) != 0) {
+      inlineFlags.append('m');
+    }
+    if ((flags & Pattern.DOTALL) != 0) {
+      inlineFlags.append('s');
+    }
+    if ((flags & Pattern.UNICODE_CASE) != 0) {
+      inlineFlags.append('u');
+    }
+    return inlineFlags.toString();
+  }
+
   public static Builder newBuilder() {
     return new Builder();
   }
@@ -75,11 +161,14 @@ public class CommentTransformer {
     }
 
     public String apply(String comment) {
-      StringBuffer sb = new StringBuffer();
       Matcher m = pattern.matcher(comment);
-      while (m.find()) {
-        m.appendReplacement(sb, replacementFunction.apply(m.group()));
+      if (!m.find()) {
+        return comment;
       }
+      StringBuffer sb = new StringBuffer(comment.length() + 16);
+      do {
+        m.appendReplacement(sb, replacementFunction.apply(m.group()));
+      } while (m.find());
       m.appendTail(sb);
       return sb.toString();
     }
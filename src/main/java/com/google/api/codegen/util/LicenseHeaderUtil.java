@@ -16,20 +16,30 @@ package com.google.api.codegen.util;
 
 import com.google.api.codegen.ConfigProto;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableList;
-import com.google.common.io.CharStreams;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 
+/**
+ * Loads the default license header of generated files. The header resources are read once per
+ * process, through {@link ResourceCache}.
+ */
 public class LicenseHeaderUtil {
   @VisibleForTesting static final String DEFAULT_LICENSE_FILE = "license-header-apache-2.0.txt";
   @VisibleForTesting static final String DEFAULT_COPYRIGHT_FILE = "copyright-google.txt";
 
+  private static final String RESOURCE_ROOT =
+      ConfigProto.class.getPackage().getName().replace('.', '/');
+
   public LicenseHeaderUtil() {}
 
+  /** Reads the default license header resources into the resource cache. */
+  public static void preload() throws IOException {
+    ResourceCache.preload(
+        ImmutableList.of(
+            getResourcePath(DEFAULT_LICENSE_FILE), getResourcePath(DEFAULT_COPYRIGHT_FILE)));
+  }
+
   public ImmutableList<String> loadLicenseLines() throws IOException {
     return getResourceLines(DEFAULT_LICENSE_FILE);
   }
@@ -39,11 +49,14 @@ public class LicenseHeaderUtil {
   }
 
   private ImmutableList<String> getResourceLines(String resourceFileName) throws IOException {
-    InputStream fileStream = ConfigProto.class.getResourceAsStream(resourceFileName);
-    if (fileStream == null) {
+    try {
+      return ResourceCache.getLines(getResourcePath(resourceFileName));
+    } catch (FileNotFoundException e) {
       throw new FileNotFoundException(resourceFileName);
     }
-    InputStreamReader fileReader = new InputStreamReader(fileStream, Charsets.UTF_8);
-    return ImmutableList.copyOf(CharStreams.readLines(fileReader));
+  }
+
+  private static String getResourcePath(String resourceFileName) {
+    return RESOURCE_ROOT + '/' + resourceFileName;
   }
 }
@@ -19,12 +19,36 @@ import com.google.api.codegen.util.CommonAcronyms.SubNamePiece;
 import com.google.common.base.CaseFormat;
 import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /** Name represents an identifier name which is casing-aware. */
 public class Name {
-  private List<NamePiece> namePieces;
+  // Interned names, by the factory and the pieces they were created from. Names are immutable, so
+  // requests for the same identifier get the same instance, with its rendered forms. The cache is
+  // bounded, so that a long-running process only keeps the names in recent use.
+  private static final int MAX_INTERNED_NAMES = 20000;
+
+  private static final Cache<List<Object>, Name> internedNames =
+      CacheBuilder.newBuilder().maximumSize(MAX_INTERNED_NAMES).build();
+
+  // The formats an identifier can be in, as bits of the result of formatsOf().
+  private static final int LOWER_UNDERSCORE_FORMAT = 1;
+  private static final int UPPER_UNDERSCORE_FORMAT = 1 << 1;
+  private static final int ANY_CAMEL_FORMAT = 1 << 2;
+  private static final int LOWER_CAMEL_FORMAT = 1 << 3;
+  private static final int UPPER_CAMEL_FORMAT = 1 << 4;
+
+  private final List<NamePiece> namePieces;
+
+  // Rendered forms of this name, computed on first use.
+  private String lowerUnderscore;
+  private String upperUnderscore;
+  private String lowerCamel;
+  private String upperCamel;
 
   /**
    * Creates a Name from a sequence of lower-underscore strings.
@@ -33,6 +57,10 @@ public class Name {
    *     lower case or underscores.
    */
   public static Name from(String... pieces) {
+    return intern(Factory.LOWER_UNDERSCORE, pieces);
+  }
+
+  private static Name fromLowerUnderscore(String... pieces) {
     List<NamePiece> namePieces = new ArrayList<>();
     for (String piece : pieces) {
       if (Strings.isNullOrEmpty(piece)) {
@@ -52,23 +80,29 @@ public class Name {
    *     contain characters that are not underscores.
    */
   public static Name anyLower(String... pieces) {
-    Name name;
-    try {
-      name = Name.from(pieces);
-    } catch (IllegalArgumentException e) {
-      try {
-        name = Name.lowerCamel(pieces);
-      } catch (IllegalArgumentException ex) {
-        String msg = "[";
-        for (String p : pieces) {
-          msg += String.format("\"%s\", ", p);
-        }
-        msg += "]\n";
-        throw new IllegalArgumentException(
-            "Name: identifiers are not all either lower-underscore or lower-camel: " + msg);
+    return intern(Factory.ANY_LOWER, pieces);
+  }
+
+  private static Name fromAnyLower(String... pieces) {
+    int formats = LOWER_UNDERSCORE_FORMAT | LOWER_CAMEL_FORMAT;
+    for (String piece : pieces) {
+      if (!Strings.isNullOrEmpty(piece)) {
+        formats &= formatsOf(piece);
       }
     }
-    return name;
+    if ((formats & LOWER_UNDERSCORE_FORMAT) != 0) {
+      return fromLowerUnderscore(pieces);
+    }
+    if ((formats & LOWER_CAMEL_FORMAT) != 0) {
+      return camelInternal(CheckCase.LOWER, AcronymMode.CAMEL_CASE, pieces);
+    }
+    String msg = "[";
+    for (String p : pieces) {
+      msg += String.format("\"%s\", ", p);
+    }
+    msg += "]\n";
+    throw new IllegalArgumentException(
+        "Name: identifiers are not all either lower-underscore or lower-camel: " + msg);
   }
 
   /**
@@ -78,6 +112,10 @@ public class Name {
    *     upper case or underscores.
    */
   public static Name upperUnderscore(String... pieces) {
+    return intern(Factory.UPPER_UNDERSCORE, pieces);
+  }
+
+  private static Name fromUpperUnderscore(String... pieces) {
     List<NamePiece> namePieces = new ArrayList<>();
     for (String piece : pieces) {
       if (Strings.isNullOrEmpty(piece)) {
@@ -95,7 +133,7 @@ public class Name {
    * @throws IllegalArgumentException if any of the strings do not follow the camel format.
    */
   public static Name anyCamel(String... pieces) {
-    return camelInternal(CheckCase.NO_CHECK, AcronymMode.CAMEL_CASE, pieces);
+    return intern(Factory.ANY_CAMEL, pieces);
   }
 
   /**
@@ -104,7 +142,7 @@ public class Name {
    * @throws IllegalArgumentException if any of the strings do not follow the lower-camel format.
    */
   public static Name lowerCamel(String... pieces) {
-    return camelInternal(CheckCase.LOWER, AcronymMode.CAMEL_CASE, pieces);
+    return intern(Factory.LOWER_CAMEL, pieces);
   }
 
   /**
@@ -113,15 +151,31 @@ public class Name {
    * @throws IllegalArgumentException if any of the strings do not follow the upper-camel format.
    */
   public static Name upperCamel(String... pieces) {
-    return camelInternal(CheckCase.UPPER, AcronymMode.CAMEL_CASE, pieces);
+    return intern(Factory.UPPER_CAMEL, pieces);
   }
 
   public static Name anyCamelKeepUpperAcronyms(String... pieces) {
-    return camelInternal(CheckCase.NO_CHECK, AcronymMode.UPPER_CASE, pieces);
+    return intern(Factory.ANY_CAMEL_KEEP_UPPER_ACRONYMS, pieces);
   }
 
   public static Name upperCamelKeepUpperAcronyms(String... pieces) {
-    return camelInternal(CheckCase.UPPER, AcronymMode.UPPER_CASE, pieces);
+    return intern(Factory.UPPER_CAMEL_KEEP_UPPER_ACRONYMS, pieces);
+  }
+
+  private static Name intern(Factory factory, String... pieces) {
+    List<Object> key = new ArrayList<>(pieces.length + 1);
+    key.add(factory);
+    Collections.addAll(key, pieces);
+    Name name = internedNames.getIfPresent(key);
+    if (name == null) {
+      // Invalid identifiers throw here, and are not interned.
+      name = factory.create(pieces);
+      Name previous = internedNames.asMap().putIfAbsent(key, name);
+      if (previous != null) {
+        name = previous;
+      }
+    }
+    return name;
   }
 
   private static CaseFormat getCamelCaseFormat(String piece) {
@@ -168,23 +222,11 @@ public class Name {
   }
 
   private static boolean isUpperUnderscore(String identifier) {
-    Character underscore = Character.valueOf('_');
-    for (Character ch : identifier.toCharArray()) {
-      if (!Character.isUpperCase(ch) && !ch.equals(underscore) && !Character.isDigit(ch)) {
-        return false;
-      }
-    }
-    return true;
+    return (formatsOf(identifier) & UPPER_UNDERSCORE_FORMAT) != 0;
   }
 
   private static boolean isLowerUnderscore(String identifier) {
-    Character underscore = Character.valueOf('_');
-    for (Character ch : identifier.toCharArray()) {
-      if (!Character.isLowerCase(ch) && !ch.equals(underscore) && !Character.isDigit(ch)) {
-        return false;
-      }
-    }
-    return true;
+    return (formatsOf(identifier) & LOWER_UNDERSCORE_FORMAT) != 0;
   }
 
   private static void validateCamel(String identifier, CheckCase check) {
@@ -196,18 +238,50 @@ public class Name {
   }
 
   private static boolean isCamel(String identifier, CheckCase check) {
-    if (identifier.length() == 0) {
-      return true;
+    return (formatsOf(identifier) & check.format) != 0;
+  }
+
+  /**
+   * Returns the formats identifier is in, as a combination of the format bits, classifying all of
+   * its characters in a single pass.
+   */
+  private static int formatsOf(String identifier) {
+    boolean hasLower = false;
+    boolean hasUpper = false;
+    boolean hasUnderscore = false;
+    boolean hasOther = false;
+    for (int i = 0; i < identifier.length(); i++) {
+      char ch = identifier.charAt(i);
+      if (Character.isLowerCase(ch)) {
+        hasLower = true;
+      } else if (Character.isUpperCase(ch)) {
+        hasUpper = true;
+      } else if (ch == '_') {
+        hasUnderscore = true;
+      } else if (!Character.isDigit(ch)) {
+        hasOther = true;
+      }
     }
-    if (!check.valid(identifier.charAt(0))) {
-      return false;
+    if (hasOther) {
+      return 0;
     }
-    for (Character ch : identifier.toCharArray()) {
-      if (!Character.isLowerCase(ch) && !Character.isUpperCase(ch) && !Character.isDigit(ch)) {
-        return false;
+    int formats = 0;
+    if (!hasUpper) {
+      formats |= LOWER_UNDERSCORE_FORMAT;
+    }
+    if (!hasLower) {
+      formats |= UPPER_UNDERSCORE_FORMAT;
+    }
+    if (!hasUnderscore) {
+      formats |= ANY_CAMEL_FORMAT;
+      if (identifier.isEmpty() || Character.isLowerCase(identifier.charAt(0))) {
+        formats |= LOWER_CAMEL_FORMAT;
+      }
+      if (identifier.isEmpty() || Character.isUpperCase(identifier.charAt(0))) {
+        formats |= UPPER_CAMEL_FORMAT;
       }
     }
-    return true;
+    return formats;
   }
 
   private Name(List<NamePiece> namePieces) {
@@ -216,12 +290,18 @@ public class Name {
 
   /** Returns the identifier in upper-underscore format. */
   public String toUpperUnderscore() {
-    return toUnderscore(CaseFormat.UPPER_UNDERSCORE);
+    if (upperUnderscore == null) {
+      upperUnderscore = toUnderscore(CaseFormat.UPPER_UNDERSCORE);
+    }
+    return upperUnderscore;
   }
 
   /** Returns the identifier in lower-underscore format. */
   public String toLowerUnderscore() {
-    return toUnderscore(CaseFormat.LOWER_UNDERSCORE);
+    if (lowerUnderscore == null) {
+      lowerUnderscore = toUnderscore(CaseFormat.LOWER_UNDERSCORE);
+    }
+    return lowerUnderscore;
   }
 
   private String toUnderscore(CaseFormat caseFormat) {
@@ -234,12 +314,18 @@ public class Name {
 
   /** Returns the identifier in lower-camel format. */
   public String toLowerCamel() {
-    return toCamel(CaseFormat.LOWER_CAMEL);
+    if (lowerCamel == null) {
+      lowerCamel = toCamel(CaseFormat.LOWER_CAMEL);
+    }
+    return lowerCamel;
   }
 
   /** Returns the identifier in upper-camel format. */
   public String toUpperCamel() {
-    return toCamel(CaseFormat.UPPER_CAMEL);
+    if (upperCamel == null) {
+      upperCamel = toCamel(CaseFormat.UPPER_CAMEL);
+    }
+    return upperCamel;
   }
 
   public String toUpperCamelAndDigits() {
@@ -364,20 +450,70 @@ public class Name {
   }
 
   private enum CheckCase {
-    NO_CHECK,
-    LOWER,
-    UPPER;
-
-    boolean valid(char c) {
-      switch (this) {
-        case NO_CHECK:
-          return true;
-        case UPPER:
-          return Character.isUpperCase(c);
-        case LOWER:
-          return Character.isLowerCase(c);
-      }
-      throw new IllegalStateException("unreachable");
+    NO_CHECK(ANY_CAMEL_FORMAT),
+    LOWER(LOWER_CAMEL_FORMAT),
+    UPPER(UPPER_CAMEL_FORMAT);
+
+    // The format bit of identifiers that pass this check.
+    private final int format;
+
+    CheckCase(int format) {
+      this.format = format;
     }
   }
+
+  // The public factories of names, which are interned separately as they parse identifiers
+  // differently.
+  private enum Factory {
+    LOWER_UNDERSCORE {
+      @Override
+      Name create(String... pieces) {
+        return fromLowerUnderscore(pieces);
+      }
+    },
+    ANY_LOWER {
+      @Override
+      Name create(String... pieces) {
+        return fromAnyLower(pieces);
+      }
+    },
+    UPPER_UNDERSCORE {
+      @Override
+      Name create(String... pieces) {
+        return fromUpperUnderscore(pieces);
+      }
+    },
+    ANY_CAMEL {
+      @Override
+      Name create(String... pieces) {
+        return camelInternal(CheckCase.NO_CHECK, AcronymMode.CAMEL_CASE, pieces);
+      }
+    },
+    LOWER_CAMEL {
+      @Override
+      Name create(String... pieces) {
+        return camelInternal(CheckCase.LOWER, AcronymMode.CAMEL_CASE, pieces);
+      }
+    },
+    UPPER_CAMEL {
+      @Override
+      Name create(String... pieces) {
+        return camelInternal(CheckCase.UPPER, AcronymMode.CAMEL_CASE, pieces);
+      }
+    },
+    ANY_CAMEL_KEEP_UPPER_ACRONYMS {
+      @Override
+      Name create(String... pieces) {
+        return camelInternal(CheckCase.NO_CHECK, AcronymMode.UPPER_CASE, pieces);
+      }
+    },
+    UPPER_CAMEL_KEEP_UPPER_ACRONYMS {
+      @Override
+      Name create(String... pieces) {
+        return camelInternal(CheckCase.UPPER, AcronymMode.UPPER_CASE, pieces);
+      }
+    };
+
+    abstract Name create(String... pieces);
+  }
 }
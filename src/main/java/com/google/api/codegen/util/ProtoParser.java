@@ -162,27 +162,29 @@ public class ProtoParser {
       Field field,
       Map<Resource, ProtoFile> allResources,
       Map<ResourceSet, ProtoFile> allResourceSets) {
+    return getResourceReferenceName(
+        field, createResourceReferenceIndex(allResources, allResourceSets));
+  }
+
+  /**
+   * Return the name of the referent Resource or ResourceSet, e.g. "Shelf", for a field with
+   * resource_reference, looked up in an index of all resources.
+   */
+  public String getResourceReferenceName(Field field, ResourceReferenceIndex resourceIndex) {
     String resourceName = getResourceReference(field);
-    if (!Strings.isNullOrEmpty(resourceName)) {
-
-      // Look in the given Resource and ResourceSet collections.
-      for (Resource resource : allResources.keySet()) {
-        ProtoFile protoFile = allResources.get(resource);
-        if (getResourceFullName(resource, protoFile).equals(resourceName)
-            || field.getFile().equals(protoFile) && resource.getSymbol().equals(resourceName)) {
-          return resource.getSymbol();
-        }
-      }
-      for (ResourceSet resourceSet : allResourceSets.keySet()) {
-        ProtoFile protoFile = allResourceSets.get(resourceSet);
-        if (getResourceSetFullName(resourceSet, protoFile).equals(resourceName)
-            || field.getFile().equals(protoFile) && resourceSet.getSymbol().equals(resourceName)) {
-          return resourceSet.getSymbol();
-        }
-      }
+    if (Strings.isNullOrEmpty(resourceName)) {
+      return null;
     }
+    return resourceIndex.lookup(resourceName, field.getFile());
+  }
 
-    return null;
+  /**
+   * Return an index of the given Resources and ResourceSets, to resolve the resource references of
+   * many fields against.
+   */
+  public ResourceReferenceIndex createResourceReferenceIndex(
+      Map<Resource, ProtoFile> allResources, Map<ResourceSet, ProtoFile> allResourceSets) {
+    return new ResourceReferenceIndex(this, allResources, allResourceSets);
   }
 
   public String getResourceOrSetEntityName(Field field) {
@@ -402,14 +404,6 @@ public class ProtoParser {
     return getProtoPackage(method.getFile());
   }
 
-  private String getResourceFullName(Resource resource, ProtoFile file) {
-    return String.format("%s.%s", getProtoPackage(file), resource.getSymbol());
-  }
-
-  private String getResourceSetFullName(ResourceSet resource, ProtoFile file) {
-    return String.format("%s.%s", getProtoPackage(file), resource.getSymbol());
-  }
-
   public ImmutableMap<String, String> getFieldNamePatterns(Method method) {
     ImmutableMap.Builder<String, String> resultCollector = ImmutableMap.builder();
     // Only look two levels deep in the request object, so fields of fields of the request object.
@@ -0,0 +1,115 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.util;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteSource;
+import com.google.common.io.ByteStreams;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+
+/**
+ * A process-wide cache of the classpath resources which the generator reads verbatim, such as
+ * license headers and static files. Each resource is read once, on first use or when preloaded,
+ * and its contents are shared by all callers afterwards, which saves the repeated reads of daemon
+ * and multi-language runs.
+ */
+public final class ResourceCache {
+  private static final Splitter LINE_SPLITTER = Splitter.onPattern("\r?\n|\r");
+
+  // The contents of resources, by absolute classpath path; empty if there is no such resource.
+  private static final ConcurrentMap<String, Optional<ByteSource>> resources =
+      new ConcurrentHashMap<>();
+  private static final ConcurrentMap<String, ImmutableList<String>> resourceLines =
+      new ConcurrentHashMap<>();
+
+  private ResourceCache() {}
+
+  /**
+   * Returns the contents of the resource at the given absolute classpath path, or null if there is
+   * no such resource.
+   *
+   * <p>The returned source is shared by all callers. It is read-only: reading it into an array
+   * returns a copy of the cached contents.
+   */
+  @Nullable
+  public static ByteSource getByteSource(String resourcePath) throws IOException {
+    Optional<ByteSource> resource = resources.get(resourcePath);
+    if (resource == null) {
+      resource = Optional.ofNullable(read(resourcePath));
+      Optional<ByteSource> previous = resources.putIfAbsent(resourcePath, resource);
+      if (previous != null) {
+        resource = previous;
+      }
+    }
+    return resource.orElse(null);
+  }
+
+  /**
+   * Returns the lines of the UTF-8 text resource at the given absolute classpath path, without
+   * line terminators.
+   *
+   * @throws FileNotFoundException if there is no such resource.
+   */
+  public static ImmutableList<String> getLines(String resourcePath) throws IOException {
+    ImmutableList<String> lines = resourceLines.get(resourcePath);
+    if (lines == null) {
+      ByteSource resource = getByteSource(resourcePath);
+      if (resource == null) {
+        throw new FileNotFoundException(resourcePath);
+      }
+      lines = splitLines(resource.asCharSource(Charsets.UTF_8).read());
+      resourceLines.putIfAbsent(resourcePath, lines);
+    }
+    return lines;
+  }
+
+  /** Reads the resources at the given absolute classpath paths into the cache, if they exist. */
+  public static void preload(Iterable<String> resourcePaths) throws IOException {
+    for (String resourcePath : resourcePaths) {
+      getByteSource(resourcePath);
+    }
+  }
+
+  @Nullable
+  private static ByteSource read(String resourcePath) throws IOException {
+    try (InputStream resourceStream =
+        ResourceCache.class.getClassLoader().getResourceAsStream(resourcePath)) {
+      return resourceStream == null
+          ? null
+          : ByteSource.wrap(ByteStreams.toByteArray(resourceStream));
+    }
+  }
+
+  // Splits text into lines the way BufferedReader.readLine() does.
+  private static ImmutableList<String> splitLines(String text) {
+    if (text.isEmpty()) {
+      return ImmutableList.of();
+    }
+    ImmutableList<String> lines = ImmutableList.copyOf(LINE_SPLITTER.split(text));
+    if (text.endsWith("\n") || text.endsWith("\r")) {
+      // The terminator of the last line does not start another one.
+      lines = lines.subList(0, lines.size() - 1);
+    }
+    return lines;
+  }
+}
@@ -0,0 +1,92 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.util;
+
+import com.google.api.Resource;
+import com.google.api.ResourceSet;
+import com.google.api.tools.framework.model.ProtoFile;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * An index of the Resources and ResourceSets of an API by the names a resource_reference can refer
+ * to them by: their package-qualified name, or their symbol within the same proto file.
+ *
+ * <p>The index resolves a reference to the same symbol as scanning the resource definitions in
+ * order would: the first matching Resource, or else the first matching ResourceSet.
+ */
+public class ResourceReferenceIndex {
+
+  private final SymbolIndex resources;
+  private final SymbolIndex resourceSets;
+
+  ResourceReferenceIndex(
+      ProtoParser protoParser,
+      Map<Resource, ProtoFile> allResources,
+      Map<ResourceSet, ProtoFile> allResourceSets) {
+    this.resources = new SymbolIndex(protoParser, allResources, Resource::getSymbol);
+    this.resourceSets = new SymbolIndex(protoParser, allResourceSets, ResourceSet::getSymbol);
+  }
+
+  /**
+   * Returns the symbol of the Resource or ResourceSet the reference from a field in the given file
+   * refers to, or null if there is none.
+   */
+  @Nullable
+  public String lookup(String resourceReference, ProtoFile referencingFile) {
+    String symbol = resources.lookup(resourceReference, referencingFile);
+    if (symbol != null) {
+      return symbol;
+    }
+    return resourceSets.lookup(resourceReference, referencingFile);
+  }
+
+  /** The symbols of one kind of resource definition, keyed by both of their names. */
+  private static class SymbolIndex {
+
+    private final List<String> symbols = new ArrayList<>();
+    // Both maps point to the position of the first definition with the name in the symbols list.
+    private final Map<String, Integer> byFullName = new HashMap<>();
+    private final Map<ProtoFile, Map<String, Integer>> bySymbolInFile = new HashMap<>();
+
+    <T> SymbolIndex(
+        ProtoParser protoParser, Map<T, ProtoFile> definitions, Function<T, String> getSymbol) {
+      for (Map.Entry<T, ProtoFile> definition : definitions.entrySet()) {
+        String symbol = getSymbol.apply(definition.getKey());
+        ProtoFile file = definition.getValue();
+        Integer position = symbols.size();
+        symbols.add(symbol);
+        byFullName.putIfAbsent(
+            String.format("%s.%s", protoParser.getProtoPackage(file), symbol), position);
+        bySymbolInFile.computeIfAbsent(file, f -> new HashMap<>()).putIfAbsent(symbol, position);
+      }
+    }
+
+    @Nullable
+    String lookup(String resourceReference, ProtoFile referencingFile) {
+      Integer position = byFullName.get(resourceReference);
+      Map<String, Integer> fileSymbols = bySymbolInFile.get(referencingFile);
+      Integer filePosition = fileSymbols == null ? null : fileSymbols.get(resourceReference);
+      if (position == null || (filePosition != null && filePosition < position)) {
+        position = filePosition;
+      }
+      return position == null ? null : symbols.get(position);
+    }
+  }
+}
@@ -16,9 +16,8 @@ package com.google.api.codegen.util;
 
 import com.google.api.codegen.SnippetSetRunner;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.io.ByteStreams;
+import com.google.common.io.ByteSource;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.Map;
 
 public class StaticResourcesHandler {
@@ -32,22 +31,24 @@ public class StaticResourcesHandler {
     return this.resourceFilesMap;
   }
 
+  /**
+   * Returns the contents of the static resources, by output file name. The resources are read once
+   * per process, and each call returns its own copy of their contents.
+   */
   public Map<String, byte[]> getResources() throws IOException {
-    ClassLoader cl = getClass().getClassLoader();
     ImmutableMap.Builder<String, byte[]> resources = ImmutableMap.builder();
     for (Map.Entry<String, String> entry : resourceFilesMap.entrySet()) {
       String resourcePath = SnippetSetRunner.SNIPPET_RESOURCE_ROOT + '/' + entry.getKey();
-      InputStream resourceStream = cl.getResourceAsStream(resourcePath);
+      ByteSource resource = ResourceCache.getByteSource(resourcePath);
       // Hack necessary to allow jar files to be included in the fat jar
-      if (resourceStream == null && resourcePath.endsWith(".jar")) {
+      if (resource == null && resourcePath.endsWith(".jar")) {
         resourcePath = resourcePath.replace(".jar", ".zjar");
-        resourceStream = cl.getResourceAsStream(resourcePath);
+        resource = ResourceCache.getByteSource(resourcePath);
       }
-      if (resourceStream == null) {
+      if (resource == null) {
         throw new IllegalArgumentException("Static resource not found: '" + resourcePath + "'");
       }
-      byte[] resource = ByteStreams.toByteArray(resourceStream);
-      resources.put(entry.getValue(), resource);
+      resources.put(entry.getValue(), resource.read());
     }
 
     return resources.build();
@@ -16,6 +16,8 @@ package com.google.api.codegen.util.go;
 
 import com.google.api.codegen.util.CommentReformatter;
 import com.google.api.codegen.util.ErrorMarkdownVisitor;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.commonmark.node.BulletList;
@@ -39,8 +41,24 @@ public class GoCommentReformatter implements CommentReformatter {
   // Might as well create only one. Parser is thread-safe.
   private static final Parser PARSER = Parser.builder().build();
 
+  // Reformatted comments, as the same proto comments are rendered in many places of an API. Only
+  // the most recently used ones are kept, so that a long-running process does not retain them all.
+  private static final int MAX_REFORMATTED_COMMENTS = 10000;
+
+  private static final Cache<String, String> reformattedComments =
+      CacheBuilder.newBuilder().maximumSize(MAX_REFORMATTED_COMMENTS).build();
+
   @Override
   public String reformat(String comment) {
+    String reformatted = reformattedComments.getIfPresent(comment);
+    if (reformatted == null) {
+      reformatted = reformatUncached(comment);
+      reformattedComments.put(comment, reformatted);
+    }
+    return reformatted;
+  }
+
+  private String reformatUncached(String comment) {
     Node root = PARSER.parse(comment);
     GoVisitor visitor = new GoVisitor();
     try {
@@ -23,7 +23,7 @@ import java.util.regex.Pattern;
 public class JSCommentReformatter implements CommentReformatter {
   public static final Pattern CLOSE_COMMENT_PATTERN = Pattern.compile("\\*/");
 
-  private CommentTransformer transformer =
+  private static final CommentTransformer TRANSFORMER =
       CommentTransformer.newBuilder()
           // TODO(landrito): Fix the linking semantics to follow the packageName.typeName
           // links like the getLinkedElementName method below. We will probably need to pass this
@@ -38,7 +38,7 @@ public class JSCommentReformatter implements CommentReformatter {
 
   @Override
   public String reformat(String comment) {
-    return transformer.transform(comment).trim();
+    return TRANSFORMER.transform(comment).trim();
   }
 
   public String getLinkedElementName(ProtoElement element) {
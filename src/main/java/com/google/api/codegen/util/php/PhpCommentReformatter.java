@@ -35,7 +35,7 @@ public class PhpCommentReformatter implements CommentReformatter {
               .append(")")
               .toString());
 
-  private CommentTransformer transformer =
+  private static final CommentTransformer TRANSFORMER =
       CommentTransformer.newBuilder()
           .replace(CLOSE_COMMENT_PATTERN, "&#42;/")
           .replace(AT_SYMBOL_PATTERN, "&#64;")
@@ -47,6 +47,6 @@ public class PhpCommentReformatter implements CommentReformatter {
 
   @Override
   public String reformat(String comment) {
-    return transformer.transform(comment).trim();
+    return TRANSFORMER.transform(comment).trim();
   }
 }
@@ -47,7 +47,7 @@ public class RubyCommentReformatter implements CommentReformatter {
             }
           });
 
-  private CommentTransformer transformer =
+  private static final CommentTransformer TRANSFORMER =
       CommentTransformer.newBuilder()
           .transform(PROTO_TO_RUBY_DOC_TRANSFORMATION)
           .transform(
@@ -82,7 +82,7 @@ public class RubyCommentReformatter implements CommentReformatter {
         line = line.trim();
         sb.append(Strings.repeat(" ", listIndent));
       }
-      sb.append(transformer.transform(line)).append("\n");
+      sb.append(TRANSFORMER.transform(line)).append("\n");
       followsListItem = matchesList;
       followsBlankLine = line.isEmpty();
     }
@@ -0,0 +1,105 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.viewmodel;
+
+import com.google.auto.value.AutoValue;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/** A bundler that batches the requests of a batching method on the client side. */
+@AutoValue
+public abstract class BatchingBundlerView {
+
+  public abstract String typeName();
+
+  public abstract String constructorName();
+
+  public abstract String resultTypeName();
+
+  public abstract String elementTypeName();
+
+  public abstract String methodName();
+
+  public abstract String requestTypeName();
+
+  @Nullable
+  public abstract String responseTypeName();
+
+  public abstract String batchedFieldName();
+
+  public abstract String batchedElementTypeName();
+
+  public abstract String byteLengthFunctionName();
+
+  public abstract List<String> discriminatorFieldNames();
+
+  public abstract List<List<String>> discriminatorGettersChains();
+
+  @Nullable
+  public abstract String subresponseFieldName();
+
+  @Nullable
+  public abstract String subresponseElementTypeName();
+
+  public abstract BatchingConfigView batchingConfig();
+
+  public boolean hasReturnValue() {
+    return responseTypeName() != null;
+  }
+
+  public boolean hasSubresponse() {
+    return subresponseFieldName() != null;
+  }
+
+  public static Builder newBuilder() {
+    return new AutoValue_BatchingBundlerView.Builder();
+  }
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+
+    public abstract Builder typeName(String val);
+
+    public abstract Builder constructorName(String val);
+
+    public abstract Builder resultTypeName(String val);
+
+    public abstract Builder elementTypeName(String val);
+
+    public abstract Builder methodName(String val);
+
+    public abstract Builder requestTypeName(String val);
+
+    public abstract Builder responseTypeName(String val);
+
+    public abstract Builder batchedFieldName(String val);
+
+    public abstract Builder batchedElementTypeName(String val);
+
+    public abstract Builder byteLengthFunctionName(String val);
+
+    public abstract Builder discriminatorFieldNames(List<String> val);
+
+    public abstract Builder discriminatorGettersChains(List<List<String>> val);
+
+    public abstract Builder subresponseFieldName(String val);
+
+    public abstract Builder subresponseElementTypeName(String val);
+
+    public abstract Builder batchingConfig(BatchingConfigView val);
+
+    public abstract BatchingBundlerView build();
+  }
+}
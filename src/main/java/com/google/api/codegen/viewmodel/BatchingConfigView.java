@@ -23,6 +23,8 @@ public abstract class BatchingConfigView {
 
   public abstract long requestByteThreshold();
 
+  public abstract long requestByteLimit();
+
   public abstract long delayThresholdMillis();
 
   @Nullable
@@ -33,6 +35,22 @@ public abstract class BatchingConfigView {
 
   public abstract String flowControlLimitExceededBehavior();
 
+  public boolean hasElementCountThreshold() {
+    return elementCountThreshold() > 0;
+  }
+
+  public boolean hasRequestByteThreshold() {
+    return requestByteThreshold() > 0;
+  }
+
+  public boolean hasDelayThreshold() {
+    return delayThresholdMillis() > 0;
+  }
+
+  public boolean hasRequestByteLimit() {
+    return requestByteLimit() > 0;
+  }
+
   public boolean hasFlowControlElementLimit() {
     return flowControlElementLimit() != null;
   }
@@ -41,6 +59,11 @@ public abstract class BatchingConfigView {
     return flowControlByteLimit() != null;
   }
 
+  /** Whether the flow control byte limit applies, which it does not when it is ignored. */
+  public boolean enforcesFlowControlByteLimit() {
+    return hasFlowControlByteLimit() && !flowControlLimitExceededBehavior().equals("Ignore");
+  }
+
   public static Builder newBuilder() {
     return new AutoValue_BatchingConfigView.Builder();
   }
@@ -51,6 +74,8 @@ public abstract class BatchingConfigView {
 
     public abstract Builder requestByteThreshold(long val);
 
+    public abstract Builder requestByteLimit(long val);
+
     public abstract Builder delayThresholdMillis(long val);
 
     public abstract Builder flowControlElementLimit(Long val);
@@ -0,0 +1,91 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.viewmodel;
+
+import com.google.auto.value.AutoValue;
+import javax.annotation.Nullable;
+
+/** A property of a Discovery schema, as read and written by the schema's JSON codec. */
+@AutoValue
+public abstract class JsonCodecFieldView {
+
+  // The name of the property in the message class, e.g. "items".
+  public abstract String name();
+
+  // The name of the property in JSON, e.g. "IPProtocol".
+  public abstract String serializedName();
+
+  // The type of the property, e.g. "List<Address>".
+  public abstract String typeName();
+
+  // The getter of the message class and the setter of its builder.
+  public abstract String fieldGetFunction();
+
+  public abstract String fieldSetFunction();
+
+  // Whether the property is a JSON array.
+  public abstract boolean isRepeated();
+
+  // Whether the property is a JSON object with arbitrary keys.
+  public abstract boolean isMap();
+
+  // The kind and type of the property, or of its elements or map values.
+  public abstract JsonValueKind valueKind();
+
+  public abstract String valueTypeName();
+
+  // The codec of a message value, e.g. "AddressJsonCodec".
+  @Nullable
+  public abstract String valueCodecName();
+
+  public boolean hasValueCodec() {
+    return valueCodecName() != null;
+  }
+
+  // The private function of the codec that reads an array or map property.
+  @Nullable
+  public abstract String readFunction();
+
+  public static Builder newBuilder() {
+    return new AutoValue_JsonCodecFieldView.Builder();
+  }
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+    public abstract Builder name(String val);
+
+    public abstract Builder serializedName(String val);
+
+    public abstract Builder typeName(String val);
+
+    public abstract Builder fieldGetFunction(String val);
+
+    public abstract Builder fieldSetFunction(String val);
+
+    public abstract Builder isRepeated(boolean val);
+
+    public abstract Builder isMap(boolean val);
+
+    public abstract Builder valueKind(JsonValueKind val);
+
+    public abstract Builder valueTypeName(String val);
+
+    public abstract Builder valueCodecName(String val);
+
+    public abstract Builder readFunction(String val);
+
+    public abstract JsonCodecFieldView build();
+  }
+}
@@ -0,0 +1,59 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.viewmodel;
+
+import com.google.auto.value.AutoValue;
+import java.util.List;
+
+/**
+ * The JSON codec of a Discovery schema class: a class that streams messages of the schema to and
+ * from JSON without going through an intermediate tree, or through reflection except for values
+ * that have no generated message class.
+ */
+@AutoValue
+public abstract class JsonCodecView {
+
+  // The name of the codec class, e.g. "AddressJsonCodec".
+  public abstract String name();
+
+  // The name of the message class, e.g. "Address".
+  public abstract String messageTypeName();
+
+  public abstract List<JsonCodecFieldView> fields();
+
+  public boolean hasReflectiveFields() {
+    for (JsonCodecFieldView field : fields()) {
+      if (field.valueKind() == JsonValueKind.REFLECTIVE) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public static Builder newBuilder() {
+    return new AutoValue_JsonCodecView.Builder();
+  }
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+    public abstract Builder name(String val);
+
+    public abstract Builder messageTypeName(String val);
+
+    public abstract Builder fields(List<JsonCodecFieldView> val);
+
+    public abstract JsonCodecView build();
+  }
+}
@@ -0,0 +1,28 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.viewmodel;
+
+/** The kinds of JSON values a generated JSON codec reads and writes. */
+public enum JsonValueKind {
+  STRING,
+  INTEGER,
+  FLOAT,
+  DOUBLE,
+  BOOLEAN,
+  MESSAGE,
+  // A value without a generated message class or codec, e.g. of type "any", which the codec leaves
+  // to Gson's reflective type adapters.
+  REFLECTIVE,
+}
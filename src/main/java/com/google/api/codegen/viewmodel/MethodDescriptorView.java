@@ -44,12 +44,24 @@ public abstract class MethodDescriptorView {
     return headerRequestParams() != null && !headerRequestParams().isEmpty();
   }
 
+  // Whether the request params extractor builds its map without an intermediate builder.
+  public abstract boolean inlineHeaderRequestParams();
+
   @Nullable
   public abstract HttpMethodView httpMethod();
 
+  // The generated JSON codec that parses responses, instead of the reflective parser.
+  @Nullable
+  public abstract String responseJsonCodecName();
+
+  public boolean hasResponseJsonCodec() {
+    return responseJsonCodecName() != null;
+  }
+
   public static Builder newBuilder() {
     return new AutoValue_MethodDescriptorView.Builder()
-        .grpcStreamingType(GrpcStreamingType.NonStreaming);
+        .grpcStreamingType(GrpcStreamingType.NonStreaming)
+        .inlineHeaderRequestParams(false);
   }
 
   @AutoValue.Builder
@@ -73,8 +85,12 @@ public abstract class MethodDescriptorView {
 
     public abstract Builder headerRequestParams(List<HeaderRequestParamView> val);
 
+    public abstract Builder inlineHeaderRequestParams(boolean val);
+
     public abstract Builder httpMethod(HttpMethodView val);
 
+    public abstract Builder responseJsonCodecName(String val);
+
     public abstract MethodDescriptorView build();
   }
 }
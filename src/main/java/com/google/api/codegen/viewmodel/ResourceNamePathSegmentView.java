@@ -0,0 +1,55 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.viewmodel;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * A run of a resource name path template that generated code parses and formats without going
+ * through PathTemplate: either a single variable, or the literal text between two variables.
+ */
+@AutoValue
+public abstract class ResourceNamePathSegmentView {
+
+  // Whether this segment is a variable, which matches a single non-empty path segment.
+  public abstract boolean isVariable();
+
+  // The name of the resource name field of a variable, or the literal text, including its
+  // surrounding slashes, e.g. "/global/addresses/".
+  public abstract String value();
+
+  // The length of the literal text.
+  public abstract int length();
+
+  // Whether this is the last segment of the path.
+  public abstract boolean isLast();
+
+  public static Builder newBuilder() {
+    return new AutoValue_ResourceNamePathSegmentView.Builder();
+  }
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+    public abstract Builder isVariable(boolean val);
+
+    public abstract Builder value(String val);
+
+    public abstract Builder length(int val);
+
+    public abstract Builder isLast(boolean val);
+
+    public abstract ResourceNamePathSegmentView build();
+  }
+}
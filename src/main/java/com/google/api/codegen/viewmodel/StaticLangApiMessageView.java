@@ -86,6 +86,11 @@ public abstract class StaticLangApiMessageView implements Comparable<StaticLangA
   // There can be arbitrarily nested fields inside of this field.
   public abstract List<StaticLangApiMessageView> properties();
 
+  // Whether generated code can dispatch on the names of any properties.
+  public boolean hasProperties() {
+    return !properties().isEmpty();
+  }
+
   public abstract boolean hasRequiredProperties();
 
   public abstract boolean hasFieldMask();
@@ -93,6 +98,14 @@ public abstract class StaticLangApiMessageView implements Comparable<StaticLangA
   // If this field should be part of the parent message's serialization.
   public abstract boolean isSerializable();
 
+  // The JSON codec of a top-level schema class, if codecs are generated.
+  @Nullable
+  public abstract JsonCodecView jsonCodec();
+
+  public boolean hasJsonCodec() {
+    return jsonCodec() != null;
+  }
+
   public static StaticLangApiMessageView.Builder newBuilder() {
     return new AutoValue_StaticLangApiMessageView.Builder()
         .hasRequiredProperties(false)
@@ -134,6 +147,8 @@ public abstract class StaticLangApiMessageView implements Comparable<StaticLangA
 
     public abstract Builder requestBodyType(StaticLangApiMessageView val);
 
+    public abstract Builder jsonCodec(JsonCodecView val);
+
     public abstract StaticLangApiMessageView build();
   }
 
@@ -39,6 +39,16 @@ public abstract class StaticLangApiResourceNameView
   // The list of path parameter views.
   public abstract List<StaticLangMemberView> pathParams();
 
+  // Whether the path is parsed and formatted by generated code specialized for the path template,
+  // rather than by PathTemplate.
+  public abstract boolean specializedPath();
+
+  // The variables and literal text of the path template, in order, when the path is specialized.
+  public abstract List<ResourceNamePathSegmentView> pathSegments();
+
+  // The total length of the literal text of the path template.
+  public abstract int pathLiteralLength();
+
   public static Builder newBuilder() {
     return new AutoValue_StaticLangApiResourceNameView.Builder();
   }
@@ -55,6 +65,12 @@ public abstract class StaticLangApiResourceNameView
 
     public abstract Builder pathParams(List<StaticLangMemberView> val);
 
+    public abstract Builder specializedPath(boolean val);
+
+    public abstract Builder pathSegments(List<ResourceNamePathSegmentView> val);
+
+    public abstract Builder pathLiteralLength(int val);
+
     public abstract StaticLangApiResourceNameView build();
   }
 
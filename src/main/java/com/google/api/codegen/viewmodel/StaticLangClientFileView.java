@@ -71,6 +71,15 @@ public abstract class StaticLangClientFileView implements ViewModel {
     return !lroDetailViews().isEmpty();
   }
 
+  public abstract List<BatchingBundlerView> batchingBundlers();
+
+  /** The number of gRPC connections the client pools by default, or 0 for a single connection. */
+  public abstract int grpcConnectionPoolSize();
+
+  public boolean hasConnectionPool() {
+    return grpcConnectionPoolSize() > 0;
+  }
+
   public static Builder newBuilder() {
     return new AutoValue_StaticLangClientFileView.Builder();
   }
@@ -119,6 +128,10 @@ public abstract class StaticLangClientFileView implements ViewModel {
 
     public abstract Builder lroDetailViews(List<LongRunningOperationDetailView> val);
 
+    public abstract Builder batchingBundlers(List<BatchingBundlerView> val);
+
+    public abstract Builder grpcConnectionPoolSize(int val);
+
     public abstract StaticLangClientFileView build();
   }
 }
@@ -15,6 +15,7 @@
 package com.google.api.codegen.viewmodel.testing;
 
 import com.google.api.codegen.config.GrpcStreamingConfig.GrpcStreamingType;
+import com.google.api.codegen.viewmodel.BatchingBundlerView;
 import com.google.api.codegen.viewmodel.ClientMethodType;
 import com.google.api.codegen.viewmodel.InitCodeView;
 import com.google.auto.value.AutoValue;
@@ -85,10 +86,25 @@ public abstract class TestCaseView {
 
   public abstract String grpcMethodName();
 
+  @Nullable // Used in Go
+  public abstract BatchingBundlerView batchingBundler();
+
+  @Nullable // Used in Go
+  public abstract String batchedElementValue();
+
+  @Nullable // Used in Go
+  public abstract List<String> subresponseValues();
+
+  public boolean hasBundler() {
+    return batchingBundler() != null;
+  }
+
   public static Builder newBuilder() {
     return new AutoValue_TestCaseView.Builder();
   }
 
+  public abstract Builder toBuilder();
+
   @AutoValue.Builder
   public abstract static class Builder {
 
@@ -146,6 +162,12 @@ public abstract class TestCaseView {
 
     public abstract Builder grpcMethodName(String val);
 
+    public abstract Builder batchingBundler(BatchingBundlerView val);
+
+    public abstract Builder batchedElementValue(String val);
+
+    public abstract Builder subresponseValues(List<String> val);
+
     public abstract TestCaseView build();
   }
 }
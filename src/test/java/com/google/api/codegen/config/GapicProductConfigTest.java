@@ -0,0 +1,138 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.config;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.codegen.CodegenTestUtil;
+import com.google.api.codegen.ConfigProto;
+import com.google.api.codegen.MixedPathTestDataLocator;
+import com.google.api.codegen.common.TargetLanguage;
+import com.google.api.tools.framework.model.Diag;
+import com.google.api.tools.framework.model.Model;
+import com.google.api.tools.framework.model.SimpleLocation;
+import com.google.api.tools.framework.model.testing.TestDataLocator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GapicProductConfigTest {
+
+  @ClassRule public static TemporaryFolder tempDir = new TemporaryFolder();
+
+  @Test
+  public void concurrentInterfaceConfigs() {
+    Model concurrentModel = readModel();
+    GapicProductConfig concurrentConfig =
+        createProductConfig(concurrentModel, UnaryOperator.identity(), true);
+    Model sequentialModel = readModel();
+    GapicProductConfig sequentialConfig =
+        createProductConfig(sequentialModel, UnaryOperator.identity(), false);
+
+    assertThat(concurrentConfig).isNotNull();
+    assertThat(sequentialConfig).isNotNull();
+    assertThat(describe(concurrentConfig))
+        .containsExactly(
+            "google.cloud.example.v1.foo.IncrementerService [service_address, scopes]",
+            "google.cloud.example.v1.foo.IncrementerService.Increment default PT10S",
+            "google.cloud.example.v1.foo.DecrementerService [service_address, scopes]",
+            "google.cloud.example.v1.foo.DecrementerService.Decrement default PT10S")
+        .inOrder();
+    assertThat(describe(concurrentConfig)).isEqualTo(describe(sequentialConfig));
+    assertThat(getDiags(concurrentModel)).isEqualTo(getDiags(sequentialModel));
+  }
+
+  @Test
+  public void concurrentInterfaceConfigsWithErrorInLaterInterface() {
+    // Only the second interface is invalid, so its error is reported after the first interface
+    // has been created, and the concurrent path falls back to the sequential one.
+    UnaryOperator<ConfigProto> addInvalidParam =
+        configProto ->
+            configProto
+                .toBuilder()
+                .setInterfaces(
+                    1,
+                    configProto.getInterfaces(1).toBuilder().addRequiredConstructorParams("bad"))
+                .build();
+
+    Model concurrentModel = readModel();
+    GapicProductConfig concurrentConfig =
+        createProductConfig(concurrentModel, addInvalidParam, true);
+    Model sequentialModel = readModel();
+    GapicProductConfig sequentialConfig =
+        createProductConfig(sequentialModel, addInvalidParam, false);
+
+    assertThat(concurrentConfig).isNull();
+    assertThat(sequentialConfig).isNull();
+    Diag expectedError =
+        Diag.error(SimpleLocation.TOPLEVEL, "Unsupported constructor param: %s", "bad");
+    assertThat(getDiags(concurrentModel)).contains(expectedError);
+    assertThat(concurrentModel.getDiagReporter().getDiagCollector().getErrorCount()).isEqualTo(1);
+    assertThat(getDiags(concurrentModel)).isEqualTo(getDiags(sequentialModel));
+  }
+
+  private static Model readModel() {
+    TestDataLocator locator = MixedPathTestDataLocator.create(GapicProductConfigTest.class);
+    locator.addTestDataSource(CodegenTestUtil.class, "testsrc/common");
+    return CodegenTestUtil.readModel(
+        locator,
+        tempDir,
+        new String[] {"multiple_services.proto"},
+        new String[] {"multiple_services.yaml"});
+  }
+
+  private static GapicProductConfig createProductConfig(
+      Model model, UnaryOperator<ConfigProto> configTransform, boolean concurrently) {
+    TestDataLocator locator = MixedPathTestDataLocator.create(GapicProductConfigTest.class);
+    locator.addTestDataSource(CodegenTestUtil.class, "testsrc/common");
+    ConfigProto configProto =
+        CodegenTestUtil.readConfig(
+            model.getDiagReporter().getDiagCollector(),
+            locator,
+            new String[] {"multiple_services_gapic.yaml"});
+    return GapicProductConfig.create(
+        GapicProductConfigInputs.create(model, configTransform.apply(configProto), null),
+        null,
+        TargetLanguage.JAVA,
+        concurrently);
+  }
+
+  private static List<Diag> getDiags(Model model) {
+    return new ArrayList<>(model.getDiagReporter().getDiagCollector().getDiags());
+  }
+
+  /** Lists the interface and method configs, with the settings they were created with. */
+  private static List<String> describe(GapicProductConfig productConfig) {
+    List<String> description = new ArrayList<>();
+    for (InterfaceConfig interfaceConfig : productConfig.getInterfaceConfigMap().values()) {
+      description.add(
+          interfaceConfig.getInterfaceModel().getFullName()
+              + " "
+              + interfaceConfig.getRequiredConstructorParams());
+      for (MethodConfig methodConfig : interfaceConfig.getMethodConfigs()) {
+        description.add(
+            methodConfig.getMethodModel().getFullName()
+                + " "
+                + methodConfig.getRetrySettingsConfigName()
+                + " "
+                + methodConfig.getTimeout());
+      }
+    }
+    return description;
+  }
+}
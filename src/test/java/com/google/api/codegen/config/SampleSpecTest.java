@@ -22,6 +22,7 @@ import com.google.api.codegen.SampleConfiguration.SampleTypeConfiguration;
 import com.google.api.codegen.SampleParameters;
 import com.google.api.codegen.SampleValueSet;
 import com.google.api.codegen.config.SampleSpec.SampleType;
+import com.google.api.codegen.config.SampleSpec.ValueSetAndTags;
 import com.google.api.codegen.viewmodel.CallingForm;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -119,4 +120,36 @@ public class SampleSpecTest {
     assertThat(sampleSpec.getMatchingValueSets(CallingForm.Request, SampleType.STANDALONE))
         .hasSize(3);
   }
+
+  @Test
+  public void matchingValueSetsMemoizedPerCallingFormAndSampleType() {
+    final MethodConfigProto methodConfigProto =
+        MethodConfigProto.newBuilder()
+            .addSampleValueSets(SampleValueSet.newBuilder().setId("alice"))
+            .addSampleValueSets(SampleValueSet.newBuilder().setId("bob"))
+            .setSamples(
+                SampleConfiguration.newBuilder()
+                    .addStandalone(
+                        SampleTypeConfiguration.newBuilder()
+                            .addValueSets("alice")
+                            .addCallingForms("request"))
+                    .addStandalone(
+                        SampleTypeConfiguration.newBuilder()
+                            .addValueSets("bob")
+                            .addCallingForms("request_paged")))
+            .build();
+    SampleSpec sampleSpec = new SampleSpec(methodConfigProto);
+    List<ValueSetAndTags> request =
+        sampleSpec.getMatchingValueSets(CallingForm.Request, SampleType.STANDALONE);
+    List<ValueSetAndTags> requestPaged =
+        sampleSpec.getMatchingValueSets(CallingForm.RequestPaged, SampleType.STANDALONE);
+
+    assertThat(request).hasSize(1);
+    assertThat(request.get(0).values().getId()).isEqualTo("alice");
+    assertThat(requestPaged).hasSize(1);
+    assertThat(requestPaged.get(0).values().getId()).isEqualTo("bob");
+    assertThat(sampleSpec.getMatchingValueSets(CallingForm.Request, SampleType.IN_CODE)).isEmpty();
+    assertThat(sampleSpec.getMatchingValueSets(CallingForm.Request, SampleType.STANDALONE))
+        .isSameAs(request);
+  }
 }
@@ -50,6 +50,7 @@ public abstract class DiscoGapicTestBase extends ConfigBaselineTestCase {
   private final List<String> gapicConfigFilePaths = new LinkedList<>();
   private final String[] gapicConfigFileNames;
   @Nullable private final String packageConfigFileName;
+  private final List<String> enabledArtifacts;
   protected ConfigProto config;
   private List<CodeGenerator<?>> discoGapicGenerators;
   private final TestDataLocator testDataLocator = MixedPathTestDataLocator.create(this.getClass());
@@ -60,11 +61,28 @@ public abstract class DiscoGapicTestBase extends ConfigBaselineTestCase {
       String discoveryDocFileName,
       String[] gapicConfigFileNames,
       String packageConfigFileName) {
+    this(
+        language,
+        name,
+        discoveryDocFileName,
+        gapicConfigFileNames,
+        packageConfigFileName,
+        Collections.emptyList());
+  }
+
+  public DiscoGapicTestBase(
+      TargetLanguage language,
+      String name,
+      String discoveryDocFileName,
+      String[] gapicConfigFileNames,
+      String packageConfigFileName,
+      List<String> enabledArtifacts) {
     this.language = language;
     this.name = name;
     this.discoveryDocFileName = discoveryDocFileName;
     this.gapicConfigFileNames = gapicConfigFileNames;
     this.packageConfigFileName = packageConfigFileName;
+    this.enabledArtifacts = enabledArtifacts;
 
     String dir = language.toString().toLowerCase();
     getTestDataLocator().addTestDataSource(getClass(), "testdata");
@@ -91,7 +109,7 @@ public abstract class DiscoGapicTestBase extends ConfigBaselineTestCase {
                   .findTestData("com/google/api/codegen/testsrc/common/frozen_dependencies.yaml")
                   .getPath(),
               language.toString().toLowerCase(),
-              Collections.emptyList(),
+              enabledArtifacts,
               ArtifactType.LEGACY_DISCOGAPIC_AND_PACKAGE);
     } catch (IOException e) {
       throw new IllegalArgumentException("Problem creating DiscoGapic generator.", e);
@@ -15,8 +15,11 @@
 package com.google.api.codegen.discogapic;
 
 import com.google.api.codegen.common.TargetLanguage;
+import com.google.api.codegen.gapic.ArtifactFlags;
 import com.google.common.collect.ImmutableList;
 import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
@@ -32,18 +35,21 @@ public class JavaDiscoGapicGeneratorTest extends DiscoGapicTestBase {
       String name,
       String discoveryDocFileName,
       String[] gapicConfigFileNames,
-      String packageConfigFileName) {
+      String packageConfigFileName,
+      List<String> enabledArtifacts) {
     super(
         TargetLanguage.JAVA,
         name,
         discoveryDocFileName,
         gapicConfigFileNames,
-        packageConfigFileName);
+        packageConfigFileName,
+        enabledArtifacts);
   }
 
   /**
    * Declares test parameters, each one an array of values passed to the constructor, with the first
-   * element a name, the second a discovery doc, and the third a partial GAPIC config.
+   * element a name, the second a discovery doc, the third a partial GAPIC config, and the last the
+   * enabled artifacts.
    */
   @Parameters(name = "{0}")
   public static List<Object[]> testedConfigs() {
@@ -61,9 +67,20 @@ public class JavaDiscoGapicGeneratorTest extends DiscoGapicTestBase {
             new String[] {
               "com/google/api/codegen/discogapic/testdata/simplecompute_gapic.yaml",
             },
-            "com/google/api/codegen/discogapic/testdata/simplecompute_pkg2.yaml"
+            "com/google/api/codegen/discogapic/testdata/simplecompute_pkg2.yaml",
+            Collections.emptyList()
           });
     }
+    builder.add(
+        new Object[] {
+          "java_simplecompute_json_codecs",
+          "testdata/simplecompute.v1.json",
+          new String[] {
+            "com/google/api/codegen/discogapic/testdata/simplecompute_gapic.yaml",
+          },
+          "com/google/api/codegen/discogapic/testdata/simplecompute_pkg2.yaml",
+          Arrays.asList(ArtifactFlags.ARTIFACT_SURFACE, ArtifactFlags.ARTIFACT_JSON_CODECS)
+        });
     return builder.build();
   }
 
@@ -0,0 +1,109 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.discogapic.transformer.java;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.codegen.CodegenTestUtil;
+import com.google.api.codegen.ConfigProto;
+import com.google.api.codegen.MixedPathTestDataLocator;
+import com.google.api.codegen.common.TargetLanguage;
+import com.google.api.codegen.config.DiscoApiModel;
+import com.google.api.codegen.config.GapicProductConfig;
+import com.google.api.codegen.discogapic.DiscoGapicTestBase;
+import com.google.api.codegen.discovery.Document;
+import com.google.api.codegen.gapic.CommonGapicCodePathMapper;
+import com.google.api.codegen.viewmodel.ResourceNamePathSegmentView;
+import com.google.api.codegen.viewmodel.StaticLangApiResourceNameFileView;
+import com.google.api.codegen.viewmodel.StaticLangApiResourceNameView;
+import com.google.api.codegen.viewmodel.ViewModel;
+import com.google.api.tools.framework.model.SimpleDiagCollector;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class JavaDiscoGapicResourceNameToViewTransformerTest {
+
+  @Test
+  public void testSimplecomputeResourceNamesAreSpecialized() throws IOException {
+    MixedPathTestDataLocator testDataLocator =
+        MixedPathTestDataLocator.create(JavaDiscoGapicResourceNameToViewTransformerTest.class);
+    testDataLocator.addTestDataSource(DiscoGapicTestBase.class, "testdata");
+
+    Document document;
+    try (JsonParser parser =
+        new ObjectMapper()
+            .getFactory()
+            .createParser(testDataLocator.findTestData("simplecompute.v1.json"))) {
+      document = Document.from(parser);
+    }
+    ConfigProto configProto =
+        CodegenTestUtil.readConfig(
+            new SimpleDiagCollector(),
+            testDataLocator,
+            new String[] {"simplecompute_gapic.yaml"});
+    DiscoApiModel model =
+        new DiscoApiModel(
+            document, configProto.getLanguageSettingsMap().get("java").getPackageName());
+    GapicProductConfig productConfig =
+        GapicProductConfig.create(model, configProto, TargetLanguage.JAVA);
+
+    JavaDiscoGapicResourceNameToViewTransformer transformer =
+        new JavaDiscoGapicResourceNameToViewTransformer(
+            CommonGapicCodePathMapper.newBuilder()
+                .setPrefix("src/main/java")
+                .setShouldAppendPackage(true)
+                .build());
+    List<String> typeNames = new ArrayList<>();
+    for (ViewModel view : transformer.transform(model, productConfig)) {
+      StaticLangApiResourceNameView resourceName =
+          ((StaticLangApiResourceNameFileView) view).resourceName();
+      typeNames.add(resourceName.typeName());
+      assertWithMessage(resourceName.pathTemplate())
+          .that(resourceName.specializedPath())
+          .isTrue();
+      assertThat(render(resourceName.pathSegments())).isEqualTo(resourceName.pathTemplate());
+      assertThat(resourceName.pathLiteralLength())
+          .isEqualTo(resourceName.pathTemplate().replaceAll("\\{[^}]*\\}", "").length());
+    }
+    assertThat(typeNames)
+        .containsExactly(
+            "ProjectGlobalAddressName",
+            "ProjectName",
+            "ProjectRegionAddressName",
+            "ProjectRegionName")
+        .inOrder();
+  }
+
+  /** Reassembles a path template from its segments, checking that only the last one is last. */
+  private static String render(List<ResourceNamePathSegmentView> segments) {
+    StringBuilder template = new StringBuilder();
+    for (int i = 0; i < segments.size(); i++) {
+      ResourceNamePathSegmentView segment = segments.get(i);
+      assertThat(segment.isLast()).isEqualTo(i == segments.size() - 1);
+      if (segment.isVariable()) {
+        template.append('{').append(segment.value()).append('}');
+      } else {
+        assertThat(segment.length()).isEqualTo(segment.value().length());
+        template.append(segment.value());
+      }
+    }
+    return template.toString();
+  }
+}
@@ -0,0 +1,71 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.discogapic.transformer.java;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.codegen.discovery.Document;
+import com.google.api.codegen.discovery.Schema;
+import com.google.api.codegen.viewmodel.JsonValueKind;
+import java.io.IOException;
+import java.util.Map;
+import org.junit.Test;
+
+public class JavaDiscoGapicSchemaToViewTransformerTest {
+
+  private static final String DOCUMENT =
+      "{\"schemas\": {\"Instance\": {\"id\": \"Instance\", \"type\": \"object\", \"properties\": {"
+          + "\"name\": {\"type\": \"string\"},"
+          + "\"id\": {\"type\": \"string\", \"format\": \"uint64\"},"
+          + "\"cpus\": {\"type\": \"integer\", \"format\": \"int32\"},"
+          + "\"load\": {\"type\": \"number\", \"format\": \"float\"},"
+          + "\"uptime\": {\"type\": \"number\", \"format\": \"double\"},"
+          + "\"preemptible\": {\"type\": \"boolean\"},"
+          + "\"parent\": {\"$ref\": \"Instance\"},"
+          + "\"scheduling\": {\"type\": \"object\", \"properties\": {"
+          + "  \"automaticRestart\": {\"type\": \"boolean\"}}},"
+          + "\"metadata\": {\"type\": \"any\"},"
+          + "\"labels\": {\"type\": \"object\"}"
+          + "}}}}";
+
+  @Test
+  public void testJsonValueKinds() throws IOException {
+    Document document;
+    try (JsonParser parser = new ObjectMapper().getFactory().createParser(DOCUMENT)) {
+      document = Document.from(parser);
+    }
+    Map<String, Schema> properties = document.schemas().get("Instance").properties();
+
+    assertThat(kindOf(properties, "name")).isEqualTo(JsonValueKind.STRING);
+    // int64 and uint64 values are strings in JSON.
+    assertThat(kindOf(properties, "id")).isEqualTo(JsonValueKind.STRING);
+    assertThat(kindOf(properties, "cpus")).isEqualTo(JsonValueKind.INTEGER);
+    assertThat(kindOf(properties, "load")).isEqualTo(JsonValueKind.FLOAT);
+    assertThat(kindOf(properties, "uptime")).isEqualTo(JsonValueKind.DOUBLE);
+    assertThat(kindOf(properties, "preemptible")).isEqualTo(JsonValueKind.BOOLEAN);
+    assertThat(kindOf(properties, "parent")).isEqualTo(JsonValueKind.MESSAGE);
+    assertThat(kindOf(properties, "scheduling")).isEqualTo(JsonValueKind.MESSAGE);
+
+    // No message class, and so no codec, is generated for these.
+    assertThat(kindOf(properties, "metadata")).isEqualTo(JsonValueKind.REFLECTIVE);
+    assertThat(kindOf(properties, "labels")).isEqualTo(JsonValueKind.REFLECTIVE);
+  }
+
+  private static JsonValueKind kindOf(Map<String, Schema> properties, String name) {
+    return JavaDiscoGapicSchemaToViewTransformer.getJsonValueKind(properties.get(name));
+  }
+}
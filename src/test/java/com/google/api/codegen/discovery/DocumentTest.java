@@ -0,0 +1,68 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.discovery;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import org.junit.Test;
+
+public class DocumentTest {
+  private static final String SIMPLECOMPUTE_FILE =
+      "src/test/java/com/google/api/codegen/discogapic/testdata/simplecompute.v1.json";
+
+  @Test
+  public void testStreamingParseMatchesTreeParse() throws IOException {
+    ObjectMapper mapper = new ObjectMapper();
+    Document treeDocument;
+    try (Reader reader = newReader(SIMPLECOMPUTE_FILE)) {
+      treeDocument = Document.from(new DiscoveryNode(mapper.readTree(reader)));
+    }
+    Document streamedDocument;
+    try (JsonParser parser = mapper.getFactory().createParser(newReader(SIMPLECOMPUTE_FILE))) {
+      streamedDocument = Document.from(parser);
+    }
+
+    assertThat(streamedDocument).isEqualTo(treeDocument);
+    assertThat(streamedDocument.methods()).isNotEmpty();
+    assertThat(streamedDocument.resources().keySet())
+        .containsExactlyElementsIn(treeDocument.resources().keySet())
+        .inOrder();
+    for (Schema schema : streamedDocument.schemas().values()) {
+      assertThat(schema.parent()).isSameAs(streamedDocument);
+    }
+    for (Method method : streamedDocument.methods()) {
+      assertThat(method.parent()).isSameAs(streamedDocument);
+    }
+  }
+
+  @Test(expected = JsonParseException.class)
+  public void testStreamingParseRejectsNonObjectDocument() throws IOException {
+    try (JsonParser parser = new ObjectMapper().getFactory().createParser("[]")) {
+      Document.from(parser);
+    }
+  }
+
+  private static Reader newReader(String file) throws IOException {
+    return new InputStreamReader(new FileInputStream(new File(file)));
+  }
+}
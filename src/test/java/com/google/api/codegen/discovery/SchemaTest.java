@@ -51,4 +51,25 @@ public class SchemaTest {
     assertThat(appleToDogPath.get(4).getIdentifier()).isEqualTo("items");
     assertThat(appleToDogPath.get(5)).isEqualTo(dog);
   }
+
+  @Test
+  public void testReferencesResolvedAtParseTime() throws IOException {
+    String file = "src/test/java/com/google/api/codegen/discovery/testdata/graph.json";
+    Reader reader = new InputStreamReader(new FileInputStream(new File(file)));
+
+    ObjectMapper mapper = new ObjectMapper();
+    JsonNode root = mapper.readTree(reader);
+
+    Document document = Document.from(new DiscoveryNode(root));
+
+    Schema apple = document.schemas().get("Apple");
+    List<Schema> appleToDogPath = apple.findChild("Dog");
+    assertThat(apple.findChild("Dog")).isSameAs(appleToDogPath);
+    assertThat(apple.findChild("Zebra")).isEmpty();
+
+    // A reference detached from the document still dereferences to the schema it resolved to.
+    Schema bananaReference = appleToDogPath.get(1).additionalProperties();
+    bananaReference.setParent(null);
+    assertThat(bananaReference.dereference()).isSameAs(document.schemas().get("Banana"));
+  }
 }
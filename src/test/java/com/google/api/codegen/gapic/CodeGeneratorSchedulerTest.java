@@ -0,0 +1,222 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.codegen.CodegenTestUtil;
+import com.google.api.codegen.MixedPathTestDataLocator;
+import com.google.api.codegen.common.CodeGenerator;
+import com.google.api.codegen.common.GeneratedResult;
+import com.google.api.codegen.config.GapicProductConfig;
+import com.google.api.codegen.config.ProtoApiModel;
+import com.google.api.codegen.rendering.CommonSnippetSetRunner;
+import com.google.api.codegen.transformer.ModelToViewTransformer;
+import com.google.api.codegen.util.CommonRenderingUtil;
+import com.google.api.codegen.viewmodel.ViewModel;
+import com.google.api.tools.framework.model.BoundedDiagCollector;
+import com.google.api.tools.framework.model.Diag;
+import com.google.api.tools.framework.model.DiagCollector;
+import com.google.api.tools.framework.model.Model;
+import com.google.api.tools.framework.model.SimpleLocation;
+import com.google.api.tools.framework.model.testing.TestDataLocator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CodeGeneratorSchedulerTest {
+
+  @ClassRule public static TemporaryFolder tempDir = new TemporaryFolder();
+
+  @Test
+  public void mergesOutputInGeneratorOrder() throws Exception {
+    // The first generator only finishes after the second one, so a merge in completion order
+    // would put "b.txt" first.
+    CountDownLatch secondDone = new CountDownLatch(1);
+    CodeGenerator<String> first =
+        new FakeGenerator(
+            () -> {
+              secondDone.await();
+              return ImmutableMap.of("a.txt", GeneratedResult.create("a", false));
+            });
+    CodeGenerator<String> second =
+        new FakeGenerator(
+            () -> {
+              secondDone.countDown();
+              return ImmutableMap.of("b.txt", GeneratedResult.create("b", true));
+            });
+
+    List<CodeGenerator<?>> generators = ImmutableList.of(first, second);
+    DiagCollector diagCollector = new BoundedDiagCollector();
+    Map<String, GeneratedResult<?>> results =
+        new CodeGeneratorScheduler(2).run(generators, diagCollector);
+
+    assertThat(results).isNotNull();
+    assertThat(results.keySet()).containsExactly("a.txt", "b.txt").inOrder();
+    assertThat(results.get("b.txt").isExecutable()).isTrue();
+    assertThat(diagCollector.getErrorCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void failingGeneratorReportsError() throws Exception {
+    CodeGenerator<String> ok =
+        new FakeGenerator(() -> ImmutableMap.of("a.txt", GeneratedResult.create("a", false)));
+    CodeGenerator<String> failing =
+        new FakeGenerator(
+            () -> {
+              throw new IOException("disk on fire");
+            });
+
+    List<CodeGenerator<?>> generators = ImmutableList.of(ok, failing);
+    DiagCollector diagCollector = new BoundedDiagCollector();
+    Map<String, GeneratedResult<?>> results =
+        new CodeGeneratorScheduler(2).run(generators, diagCollector);
+
+    assertThat(results).isNull();
+    assertThat(diagCollector.getErrorCount()).isEqualTo(1);
+    assertThat(diagCollector.getDiags().get(0).getMessage()).contains("disk on fire");
+  }
+
+  @Test
+  public void generatorWithoutOutputReportsError() throws Exception {
+    CodeGenerator<String> empty = new FakeGenerator(() -> null);
+
+    List<CodeGenerator<?>> generators = ImmutableList.of(empty);
+    DiagCollector diagCollector = new BoundedDiagCollector();
+    Map<String, GeneratedResult<?>> results =
+        new CodeGeneratorScheduler(1).run(generators, diagCollector);
+
+    assertThat(results).isNull();
+    assertThat(diagCollector.getErrorCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void failingGapicGeneratorReportsItsOwnErrors() throws Exception {
+    TestDataLocator locator = MixedPathTestDataLocator.create(CodeGeneratorSchedulerTest.class);
+    locator.addTestDataSource(CodegenTestUtil.class, "testsrc/common");
+    Model model =
+        CodegenTestUtil.readModel(
+            locator, tempDir, new String[] {"myproto.proto"}, new String[] {"myproto.yaml"});
+    DiagCollector diagCollector = model.getDiagReporter().getDiagCollector();
+    int errorCount = diagCollector.getErrorCount();
+
+    // The other generator only finishes its transformation after the error is reported, so it
+    // would fail too if it counted the errors of the failing generator.
+    CountDownLatch errorReported = new CountDownLatch(1);
+    Diag configError = Diag.error(SimpleLocation.TOPLEVEL, "bad config");
+    CodeGenerator<?> ok =
+        createGapicGenerator(
+            model,
+            new FakeTransformer("ok.snip") {
+              @Override
+              public List<ViewModel> transform(
+                  ProtoApiModel apiModel, GapicProductConfig productConfig) {
+                try {
+                  errorReported.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+                return ImmutableList.of();
+              }
+            });
+    CodeGenerator<?> failing =
+        createGapicGenerator(
+            model,
+            new FakeTransformer("failing.snip") {
+              @Override
+              public List<ViewModel> transform(
+                  ProtoApiModel apiModel,
+                  GapicProductConfig productConfig,
+                  DiagCollector generatorDiagCollector) {
+                generatorDiagCollector.addDiag(configError);
+                errorReported.countDown();
+                return ImmutableList.of();
+              }
+            });
+
+    List<CodeGenerator<?>> generators = ImmutableList.of(ok, failing);
+    Map<String, GeneratedResult<?>> results =
+        new CodeGeneratorScheduler(2).run(generators, diagCollector);
+
+    assertThat(results).isNull();
+    assertThat(diagCollector.getErrorCount()).isEqualTo(errorCount + 2);
+    List<Diag> diags = diagCollector.getDiags();
+    assertThat(diags).contains(configError);
+    String failure = diags.get(diags.size() - 1).getMessage();
+    assertThat(failure).contains("GapicGenerator [failing.snip] reported errors");
+  }
+
+  private static GapicGenerator createGapicGenerator(
+      Model model, ModelToViewTransformer<ProtoApiModel> transformer) {
+    return GapicGenerator.newBuilder()
+        .setModel(model)
+        .setProductConfig(GapicProductConfig.createDummyInstance())
+        .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
+        .setModelToViewTransformer(transformer)
+        .build();
+  }
+
+  private static class FakeTransformer implements ModelToViewTransformer<ProtoApiModel> {
+    private final String templateFileName;
+
+    FakeTransformer(String templateFileName) {
+      this.templateFileName = templateFileName;
+    }
+
+    @Override
+    public List<ViewModel> transform(ProtoApiModel apiModel, GapicProductConfig productConfig) {
+      return ImmutableList.of();
+    }
+
+    @Override
+    public List<String> getTemplateFileNames() {
+      return ImmutableList.of(templateFileName);
+    }
+  }
+
+  private interface Body {
+    Map<String, GeneratedResult<String>> generate() throws IOException, InterruptedException;
+  }
+
+  private static class FakeGenerator implements CodeGenerator<String> {
+    private final Body body;
+
+    FakeGenerator(Body body) {
+      this.body = body;
+    }
+
+    @Override
+    public Collection<String> getInputFileNames() {
+      return ImmutableList.of("fake.snip");
+    }
+
+    @Override
+    public Map<String, GeneratedResult<String>> generate() throws IOException {
+      try {
+        return body.generate();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      }
+    }
+  }
+}
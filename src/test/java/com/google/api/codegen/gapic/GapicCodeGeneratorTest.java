@@ -55,6 +55,11 @@ public class GapicCodeGeneratorTest extends GapicTestBase2 {
     return Arrays.asList(
         GapicTestBase2.createTestConfig(
             TargetLanguage.GO, new String[] {"library_gapic.yaml"}, null, "library"),
+        GapicTestBase2.createTestConfig(
+            TargetLanguage.GO,
+            new String[] {"no_path_templates_gapic.yaml"},
+            null,
+            "no_path_templates"),
         GapicTestBase2.createTestConfig(
             TargetLanguage.PHP,
             new String[] {"library_gapic.yaml"},
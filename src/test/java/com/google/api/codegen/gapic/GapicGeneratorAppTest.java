@@ -14,18 +14,32 @@
  */
 package com.google.api.codegen.gapic;
 
+import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import com.google.api.codegen.ArtifactType;
+import com.google.api.codegen.CodegenTestUtil;
+import com.google.api.codegen.common.GeneratedResult;
 import com.google.api.tools.framework.model.DiagCollector;
+import com.google.api.tools.framework.model.SimpleDiagCollector;
+import com.google.api.tools.framework.model.testing.TestDataLocator;
 import com.google.api.tools.framework.snippet.Doc;
 import com.google.api.tools.framework.tools.ToolOptions;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.jar.JarFile;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -65,4 +79,231 @@ public class GapicGeneratorAppTest {
     assertTrue(outputJar.exists());
     assertFalse((new File(outputJar.getPath(), "tmp3")).exists());
   }
+
+  @Test
+  public void streamCodeGenOutput() throws Exception {
+    DiagCollector diagCollector =
+        new GapicGeneratorApp(
+                ToolOptions.create(),
+                ArtifactType.LEGACY_GAPIC_AND_PACKAGE,
+                new StreamingFileGapicWriter(""))
+            .getDiagCollector();
+
+    // Verify that files are written to a directory as they are handed to the writer.
+    String outputDir = tempDir.getRoot().getPath();
+    StreamingFileGapicWriter gapicWriter = new StreamingFileGapicWriter(outputDir);
+    gapicWriter.writeGeneratedResult(
+        "tmp.txt", GeneratedResult.create(Doc.text("Sample data"), false));
+    assertTrue((new File(outputDir, "tmp.txt")).exists());
+    gapicWriter.writeGeneratedResult(
+        "tmp3", GeneratedResult.create("Sample \"runnable\" data", true));
+    gapicWriter.finish(diagCollector);
+    assertTrue(gapicWriter.isDone());
+    assertTrue((new File(outputDir, "tmp3")).exists());
+    if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+      assertTrue((new File(outputDir, "tmp3")).canExecute());
+    }
+
+    // Verify that files are written into a jar file.
+    File outputJar = new File(outputDir, "streamed.srcjar");
+    StreamingFileGapicWriter jarWriter = new StreamingFileGapicWriter(outputJar.getPath());
+    jarWriter.writeGeneratedResult(
+        "tmp.txt", GeneratedResult.create(Doc.text("Sample data"), false));
+    jarWriter.finish(diagCollector);
+    try (JarFile jarFile = new JarFile(outputJar)) {
+      assertNotNull(jarFile.getEntry("tmp.txt"));
+    }
+  }
+
+  @Test
+  public void abortStreamedCodeGenOutput() throws Exception {
+    // Verify that an aborted jar is closed and deleted.
+    File outputJar = new File(tempDir.getRoot(), "aborted.srcjar");
+    StreamingFileGapicWriter jarWriter = new StreamingFileGapicWriter(outputJar.getPath());
+    jarWriter.writeGeneratedResult(
+        "tmp.txt", GeneratedResult.create(Doc.text("Sample data"), false));
+    assertTrue(outputJar.exists());
+    jarWriter.abort();
+    assertFalse(outputJar.exists());
+    assertFalse(jarWriter.isDone());
+
+    // Verify that the files written to a directory before the failure are deleted, unless they
+    // existed before the run.
+    File outputDir = tempDir.newFolder("aborted");
+    File existingFile = new File(outputDir, "existing.txt");
+    Files.write(existingFile.toPath(), "Old data".getBytes(StandardCharsets.UTF_8));
+    StreamingFileGapicWriter dirWriter = new StreamingFileGapicWriter(outputDir.getPath());
+    dirWriter.writeGeneratedResult(
+        "tmp.txt", GeneratedResult.create(Doc.text("Sample data"), false));
+    dirWriter.writeGeneratedResult(
+        "existing.txt", GeneratedResult.create(Doc.text("Sample data"), false));
+    assertTrue(new File(outputDir, "tmp.txt").exists());
+    dirWriter.abort();
+    assertFalse(new File(outputDir, "tmp.txt").exists());
+    assertTrue(existingFile.exists());
+
+    // Verify that a failed write aborts the output written through writeCodeGenOutput.
+    File failedJar = new File(tempDir.getRoot(), "failed.srcjar");
+    Map<String, GeneratedResult<?>> outputFiles = new LinkedHashMap<>();
+    outputFiles.put("tmp.txt", GeneratedResult.create(Doc.text("Sample data"), false));
+    outputFiles.put("bad.txt", GeneratedResult.create(new Object(), false));
+    try {
+      new StreamingFileGapicWriter(failedJar.getPath())
+          .writeCodeGenOutput(outputFiles, new SimpleDiagCollector());
+      fail("Expected an IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+      assertFalse(failedJar.exists());
+    }
+  }
+
+  @Test
+  public void generateMultipleLanguages() throws Exception {
+    TestDataLocator locator = TestDataLocator.create(getClass());
+    locator.addTestDataSource(CodegenTestUtil.class, "testsrc/common");
+    GapicTestConfig testConfig =
+        new GapicTestConfig(
+            locator,
+            tempDir.newFolder("protos").getPath(),
+            Collections.singletonList("library.proto"));
+
+    Map<String, GeneratedResult<?>> multiLanguageOutput =
+        generateLibrary(locator, testConfig, ImmutableList.of("java", "go"), "");
+    Map<String, GeneratedResult<?>> javaOutput =
+        generateLibrary(locator, testConfig, ImmutableList.of(), "java");
+    Map<String, GeneratedResult<?>> goOutput =
+        generateLibrary(locator, testConfig, ImmutableList.of(), "go");
+    assertThat(javaOutput).isNotEmpty();
+    assertThat(goOutput).isNotEmpty();
+
+    // Each language is generated into its own subdirectory, as it would be on its own.
+    Map<String, String> expectedOutput = new TreeMap<>();
+    javaOutput.forEach((path, result) -> expectedOutput.put("java/" + path, render(result)));
+    goOutput.forEach((path, result) -> expectedOutput.put("go/" + path, render(result)));
+    Map<String, String> actualOutput = new TreeMap<>();
+    multiLanguageOutput.forEach((path, result) -> actualOutput.put(path, render(result)));
+    assertThat(actualOutput).containsExactlyEntriesIn(expectedOutput);
+  }
+
+  /** Runs the generator on the library API, and returns the files it generated. */
+  private static Map<String, GeneratedResult<?>> generateLibrary(
+      TestDataLocator locator, GapicTestConfig testConfig, List<String> languages, String language)
+      throws Exception {
+    ToolOptions options = ToolOptions.create();
+    options.set(ToolOptions.DESCRIPTOR_SET, testConfig.getDescriptorFile().toString());
+    options.set(
+        ToolOptions.CONFIG_FILES,
+        Collections.singletonList(locator.findTestData("library.yaml").getPath()));
+    options.set(
+        GapicGeneratorApp.GENERATOR_CONFIG_FILES,
+        Collections.singletonList(locator.findTestData("library_gapic.yaml").getPath()));
+    options.set(
+        GapicGeneratorApp.PACKAGE_CONFIG2_FILE,
+        locator.findTestData("library_pkg2.yaml").getPath());
+    options.set(GapicGeneratorApp.PROTO_PACKAGE, "google.example.library.v1");
+    options.set(GapicGeneratorApp.LANGUAGES, languages);
+    options.set(GapicGeneratorApp.LANGUAGE, language);
+
+    CollectingGapicWriter gapicWriter = new CollectingGapicWriter();
+    GapicGeneratorApp generator =
+        new GapicGeneratorApp(options, ArtifactType.LEGACY_GAPIC_AND_PACKAGE, gapicWriter);
+    assertThat(generator.run()).isEqualTo(0);
+    assertTrue(gapicWriter.isDone());
+    return gapicWriter.outputFiles;
+  }
+
+  private static String render(GeneratedResult<?> result) {
+    Object body = result.getBody();
+    if (body instanceof Doc) {
+      return ((Doc) body).prettyPrint();
+    } else if (body instanceof byte[]) {
+      return new String((byte[]) body, StandardCharsets.UTF_8);
+    }
+    return String.valueOf(body);
+  }
+
+  /** A GapicWriter which keeps the generated files in memory. */
+  private static class CollectingGapicWriter implements GapicWriter {
+    private Map<String, GeneratedResult<?>> outputFiles;
+
+    @Override
+    public boolean isDone() {
+      return outputFiles != null;
+    }
+
+    @Override
+    public void writeCodeGenOutput(
+        Map<String, GeneratedResult<?>> outputFiles, DiagCollector diagCollector) {
+      this.outputFiles = outputFiles;
+    }
+  }
+
+  @Test
+  public void writeCodeGenOutputIncrementally() throws Exception {
+    String outputDir = tempDir.newFolder("incremental").getPath();
+    FileGapicWriter gapicWriter = new FileGapicWriter(outputDir, true);
+    Map<String, Object> outputFiles = Maps.newHashMap();
+    outputFiles.put("same.txt", Doc.text("Sample data"));
+    outputFiles.put("changed.txt", "Old data");
+    outputFiles.put("stale.txt", "Stale data");
+    outputFiles.put("edited.txt", "Generated data");
+    FileGapicWriter.OutputChanges changes =
+        gapicWriter.writeCodeGenOutputIncrementally(outputFiles, outputDir);
+    assertThat(changes.getAdded())
+        .containsExactly("same.txt", "changed.txt", "stale.txt", "edited.txt");
+
+    // The manifest and the changes file are kept in the .gapic directory of the output.
+    assertThat(new File(outputDir).list())
+        .asList()
+        .containsExactly(".gapic", "same.txt", "changed.txt", "stale.txt", "edited.txt");
+    assertThat(FileGapicWriter.manifestFile(outputDir).getParentFile())
+        .isEqualTo(new File(outputDir, ".gapic"));
+
+    File sameFile = new File(outputDir, "same.txt");
+    assertTrue(sameFile.setLastModified(1000L));
+    File editedFile = new File(outputDir, "edited.txt");
+    Files.write(editedFile.toPath(), "Edited data".getBytes(StandardCharsets.UTF_8));
+
+    outputFiles.put("changed.txt", "New data");
+    outputFiles.remove("stale.txt");
+    outputFiles.put("new/file.txt", "New file");
+    outputFiles.put("stale/dir/file.txt", "Stale file");
+    changes = gapicWriter.writeCodeGenOutputIncrementally(outputFiles, outputDir);
+    assertThat(changes.getAdded()).containsExactly("new/file.txt", "stale/dir/file.txt");
+    assertThat(changes.getModified()).containsExactly("changed.txt", "edited.txt");
+    assertThat(changes.getRemoved()).containsExactly("stale.txt");
+    assertThat(changes.getUnchanged()).containsExactly("same.txt");
+
+    // Unchanged files are not rewritten, edited files are restored, and stale files are removed.
+    assertThat(sameFile.lastModified()).isEqualTo(1000L);
+    assertThat(new String(Files.readAllBytes(editedFile.toPath()), StandardCharsets.UTF_8))
+        .isEqualTo("Generated data");
+    assertFalse(new File(outputDir, "stale.txt").exists());
+    assertThat(
+            Files.readAllLines(
+                FileGapicWriter.changesFile(outputDir).toPath(), StandardCharsets.UTF_8))
+        .containsExactly(
+            "A new/file.txt",
+            "A stale/dir/file.txt",
+            "M changed.txt",
+            "M edited.txt",
+            "D stale.txt")
+        .inOrder();
+
+    // Directories left empty by removed files are removed too, but not the output metadata.
+    outputFiles.remove("stale/dir/file.txt");
+    changes = gapicWriter.writeCodeGenOutputIncrementally(outputFiles, outputDir);
+    assertThat(changes.getRemoved()).containsExactly("stale/dir/file.txt");
+    assertFalse(new File(outputDir, "stale").exists());
+    assertTrue(new File(outputDir, "new").exists());
+    assertTrue(FileGapicWriter.manifestFile(outputDir).exists());
+
+    // The output metadata directory is reserved.
+    outputFiles.put(".gapic/manifest", "Generated data");
+    try {
+      gapicWriter.writeCodeGenOutputIncrementally(outputFiles, outputDir);
+      fail("Expected an IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+      assertThat(expected).hasMessageThat().contains(".gapic");
+    }
+  }
 }
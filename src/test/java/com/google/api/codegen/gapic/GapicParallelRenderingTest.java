@@ -0,0 +1,88 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import com.google.api.codegen.CodegenTestUtil;
+import com.google.api.codegen.common.TargetLanguage;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Renders the view models concurrently and checks the output against the same baselines as the
+ * serial {@link GapicCodeGeneratorTest}.
+ */
+@RunWith(Parameterized.class)
+public class GapicParallelRenderingTest extends GapicTestBase2 {
+
+  private static final int RENDERING_THREADS = 4;
+
+  private final String[] baseNames;
+
+  public GapicParallelRenderingTest(
+      TargetLanguage language,
+      String[] gapicConfigFileNames,
+      String packageConfigFileName,
+      List<String> snippetName,
+      String baseline,
+      String protoPackage,
+      String clientPackage,
+      String[] baseNames) {
+    super(
+        language,
+        gapicConfigFileNames,
+        packageConfigFileName,
+        snippetName,
+        baseline,
+        protoPackage,
+        clientPackage);
+    this.baseNames = baseNames;
+    getTestDataLocator().addTestDataSource(CodegenTestUtil.class, "testsrc/common");
+  }
+
+  @Parameters(name = "{4}")
+  public static List<Object[]> testedConfigs() {
+    return Arrays.asList(
+        GapicTestBase2.createTestConfig(
+            TargetLanguage.JAVA,
+            new String[] {"library_gapic.yaml"},
+            "library_pkg2.yaml",
+            "library"),
+        GapicTestBase2.createTestConfig(
+            TargetLanguage.JAVA,
+            new String[] {"multiple_services_gapic.yaml"},
+            "multiple_services_pkg2.yaml",
+            "multiple_services",
+            "multiple_services_v2"),
+        GapicTestBase2.createTestConfig(
+            TargetLanguage.CSHARP,
+            new String[] {"library_gapic.yaml"},
+            "library_pkg2.yaml",
+            "library"));
+  }
+
+  @Override
+  protected int renderingThreads() {
+    return RENDERING_THREADS;
+  }
+
+  @Test
+  public void test() throws Exception {
+    test(baseNames);
+  }
+}
@@ -239,7 +239,7 @@ public abstract class GapicTestBase2 extends ConfigBaselineTestCase {
 
     List<CodeGenerator<?>> generators =
         GapicGeneratorFactory.create(
-            language, model, productConfig, packageConfig, artifactFlags, true);
+            language, model, productConfig, packageConfig, artifactFlags, true, renderingThreads());
 
     // Don't run any generators we're not testing.
     ArrayList<CodeGenerator<?>> testedGenerators = new ArrayList<>();
@@ -268,6 +268,11 @@ public abstract class GapicTestBase2 extends ConfigBaselineTestCase {
     return output;
   }
 
+  /** The number of threads the tested generators use to render their view models. */
+  protected int renderingThreads() {
+    return GapicGenerator.SERIAL_RENDERING;
+  }
+
   private static boolean hasSmokeTestConfig(GapicProductConfig productConfig) {
     return productConfig
         .getInterfaceConfigMap()
@@ -16,6 +16,7 @@ package com.google.api.codegen.gapic;
 
 import com.google.api.codegen.CodegenTestUtil;
 import com.google.api.codegen.ProtocGeneratorMain;
+import com.google.api.codegen.ProtocGeneratorServer;
 import com.google.api.codegen.protoannotations.GapicCodeGeneratorAnnotationsTest;
 import com.google.api.tools.framework.model.Model;
 import com.google.api.tools.framework.model.ProtoFile;
@@ -23,6 +24,9 @@ import com.google.api.tools.framework.model.testing.TestDataLocator;
 import com.google.common.truth.Truth;
 import com.google.protobuf.compiler.PluginProtos.CodeGeneratorRequest;
 import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.util.stream.Collectors;
 import org.junit.BeforeClass;
 import org.junit.ClassRule;
@@ -80,4 +84,27 @@ public class ProtocGapicPluginGeneratorTest {
     Truth.assertThat(response).isNotNull();
     Truth.assertThat(response.getError()).isNotEmpty();
   }
+
+  @Test
+  public void testServerServesConsecutiveJobs() throws Exception {
+    CodeGeneratorRequest codeGeneratorRequest =
+        CodeGeneratorRequest.newBuilder()
+            .addAllProtoFile(
+                model.getFiles().stream().map(ProtoFile::getProto).collect(Collectors.toList()))
+            .addFileToGenerate("multiple_services.proto")
+            .setParameter("language=java")
+            .build();
+
+    ByteArrayOutputStream requests = new ByteArrayOutputStream();
+    codeGeneratorRequest.writeDelimitedTo(requests);
+    codeGeneratorRequest.writeDelimitedTo(requests);
+    ByteArrayOutputStream responses = new ByteArrayOutputStream();
+    ProtocGeneratorServer.serve(new ByteArrayInputStream(requests.toByteArray()), responses);
+
+    CodeGeneratorResponse expected = ProtocGeneratorMain.generate(codeGeneratorRequest);
+    InputStream responseStream = new ByteArrayInputStream(responses.toByteArray());
+    Truth.assertThat(CodeGeneratorResponse.parseDelimitedFrom(responseStream)).isEqualTo(expected);
+    Truth.assertThat(CodeGeneratorResponse.parseDelimitedFrom(responseStream)).isEqualTo(expected);
+    Truth.assertThat(CodeGeneratorResponse.parseDelimitedFrom(responseStream)).isNull();
+  }
 }
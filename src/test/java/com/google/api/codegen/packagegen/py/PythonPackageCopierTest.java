@@ -0,0 +1,109 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.packagegen.py;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.codegen.config.PackageMetadataConfig;
+import com.google.api.codegen.packagegen.PackageCopyMode;
+import com.google.api.codegen.packagegen.PackageGeneratorApp;
+import com.google.api.tools.framework.tools.ToolOptions;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PythonPackageCopierTest {
+  @Rule public TemporaryFolder tempDir = new TemporaryFolder();
+
+  private Path inputPath;
+  private Path outputPath;
+
+  @Before
+  public void setUp() throws IOException {
+    inputPath = tempDir.newFolder("input").toPath();
+    outputPath = tempDir.newFolder("output").toPath();
+    write("setup.py", "setup()\n");
+    write("google/cloud/library_pb2.py", "DESCRIPTOR = None\n");
+    write("google/cloud/library_pb2_grpc.py", "import grpc\n");
+  }
+
+  @Test
+  public void copy() throws IOException {
+    PythonPackageCopierResult result = run(PackageCopyMode.COPY);
+
+    assertThat(result.bytesCopied()).isEqualTo(38);
+    assertThat(result.namespacePackages()).containsExactly("google", "google.cloud");
+    assertThat(read("google/cloud/library_pb2_grpc.py")).isEqualTo("import grpc\n");
+    assertThat(run(PackageCopyMode.COPY).bytesCopied()).isEqualTo(38);
+  }
+
+  @Test
+  public void copyIncrementally() throws IOException {
+    assertThat(run(PackageCopyMode.INCREMENTAL).bytesCopied()).isEqualTo(38);
+    assertThat(run(PackageCopyMode.INCREMENTAL).bytesCopied()).isEqualTo(0);
+
+    write("google/cloud/library_pb2.py", "DESCRIPTOR = 1\n");
+    assertThat(run(PackageCopyMode.INCREMENTAL).bytesCopied()).isEqualTo(15);
+    assertThat(read("google/cloud/library_pb2.py")).isEqualTo("DESCRIPTOR = 1\n");
+  }
+
+  @Test
+  public void link() throws IOException {
+    // Top-level files may be overwritten by the generated package metadata, so they are copied.
+    assertThat(run(PackageCopyMode.LINK).bytesCopied()).isEqualTo(8);
+    assertThat(Files.isSameFile(inputPath.resolve("setup.py"), outputPath.resolve("setup.py")))
+        .isFalse();
+    assertThat(read("google/cloud/library_pb2.py")).isEqualTo("DESCRIPTOR = None\n");
+    assertThat(run(PackageCopyMode.LINK).bytesCopied()).isEqualTo(0);
+  }
+
+  @Test
+  public void copyModeOfIgnoresDefaultLocale() {
+    Locale defaultLocale = Locale.getDefault();
+    // In Turkish, the upper case of "i" is a dotted capital I.
+    Locale.setDefault(new Locale("tr", "TR"));
+    try {
+      assertThat(PackageCopyMode.of("link")).isEqualTo(PackageCopyMode.LINK);
+      assertThat(PackageCopyMode.of("incremental")).isEqualTo(PackageCopyMode.INCREMENTAL);
+    } finally {
+      Locale.setDefault(defaultLocale);
+    }
+  }
+
+  private PythonPackageCopierResult run(PackageCopyMode copyMode) throws IOException {
+    ToolOptions options = ToolOptions.create();
+    options.set(PackageGeneratorApp.INPUT_DIR, inputPath.toString());
+    options.set(PackageGeneratorApp.OUTPUT_DIR, outputPath.toString());
+    options.set(PackageGeneratorApp.COPY_MODE, copyMode);
+    return new PythonPackageCopier()
+        .run(options, PackageMetadataConfig.createDummyPackageMetadataConfig());
+  }
+
+  private void write(String file, String contents) throws IOException {
+    Path path = inputPath.resolve(file);
+    Files.createDirectories(path.getParent());
+    Files.write(path, contents.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private String read(String file) throws IOException {
+    return new String(Files.readAllBytes(outputPath.resolve(file)), StandardCharsets.UTF_8);
+  }
+}
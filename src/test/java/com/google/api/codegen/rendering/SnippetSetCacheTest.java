@@ -0,0 +1,92 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.rendering;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.codegen.SnippetSetRunner;
+import com.google.api.codegen.util.CommonRenderingUtil;
+import com.google.api.tools.framework.snippet.Doc;
+import org.junit.Test;
+
+public class SnippetSetCacheTest {
+  private static final String SETUP_CFG_TEMPLATE = "py/setup_cfg.snip";
+  private static final String INIT_TEMPLATE = "py/__init__.py.snip";
+
+  @Test
+  public void testCachesStatelessUtils() {
+    SnippetSetCache cache = new SnippetSetCache();
+    TestSnippetSet first = get(cache, SETUP_CFG_TEMPLATE, new CommonRenderingUtil());
+    TestSnippetSet second = get(cache, SETUP_CFG_TEMPLATE, new CommonRenderingUtil());
+
+    assertThat(second).isSameAs(first);
+    assertThat(second.generate(new Object()).prettyPrint()).contains("universal = 1");
+    assertThat(cache.missCount()).isEqualTo(1);
+    assertThat(cache.hitCount()).isEqualTo(1);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void testDoesNotCacheOtherUtils() {
+    SnippetSetCache cache = new SnippetSetCache();
+    // A view model passed as util must not be bound for the lifetime of the cache.
+    TestSnippetSet first = get(cache, SETUP_CFG_TEMPLATE, new Object());
+    TestSnippetSet second = get(cache, SETUP_CFG_TEMPLATE, new Object());
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(cache.missCount()).isEqualTo(2);
+    assertThat(cache.hitCount()).isEqualTo(0);
+    assertThat(cache.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void testInvalidate() {
+    SnippetSetCache cache = new SnippetSetCache();
+    TestSnippetSet setupCfg = get(cache, SETUP_CFG_TEMPLATE, new CommonRenderingUtil());
+    TestSnippetSet init = get(cache, INIT_TEMPLATE, new CommonRenderingUtil());
+    assertThat(cache.size()).isEqualTo(2);
+
+    cache.invalidate(SnippetSetRunner.SNIPPET_RESOURCE_ROOT, SETUP_CFG_TEMPLATE);
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(get(cache, INIT_TEMPLATE, new CommonRenderingUtil())).isSameAs(init);
+    assertThat(get(cache, SETUP_CFG_TEMPLATE, new CommonRenderingUtil())).isNotSameAs(setupCfg);
+    assertThat(cache.missCount()).isEqualTo(3);
+    assertThat(cache.hitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testInvalidateAll() {
+    SnippetSetCache cache = new SnippetSetCache();
+    TestSnippetSet setupCfg = get(cache, SETUP_CFG_TEMPLATE, new CommonRenderingUtil());
+    get(cache, SETUP_CFG_TEMPLATE, new CommonRenderingUtil());
+    get(cache, INIT_TEMPLATE, new CommonRenderingUtil());
+
+    cache.invalidateAll();
+    assertThat(cache.size()).isEqualTo(0);
+    assertThat(cache.missCount()).isEqualTo(0);
+    assertThat(cache.hitCount()).isEqualTo(0);
+
+    assertThat(get(cache, SETUP_CFG_TEMPLATE, new CommonRenderingUtil())).isNotSameAs(setupCfg);
+    assertThat(cache.missCount()).isEqualTo(1);
+  }
+
+  private static TestSnippetSet get(SnippetSetCache cache, String template, Object util) {
+    return cache.get(TestSnippetSet.class, SnippetSetRunner.SNIPPET_RESOURCE_ROOT, template, util);
+  }
+
+  private interface TestSnippetSet {
+    Doc generate(Object context);
+  }
+}
@@ -18,6 +18,7 @@ import static com.google.common.truth.Truth.assertThat;
 
 import com.google.api.codegen.CodegenTestUtil;
 import com.google.api.codegen.ConfigProto;
+import com.google.api.codegen.LanguageSettingsProto;
 import com.google.api.codegen.MixedPathTestDataLocator;
 import com.google.api.codegen.common.TargetLanguage;
 import com.google.api.codegen.config.GapicInterfaceContext;
@@ -45,6 +46,7 @@ public class GoGapicSurfaceTransformerTest {
   private static Model model;
   private static Interface apiInterface;
   private static GapicProductConfig productConfig;
+  private static GapicProductConfig pooledProductConfig;
 
   @BeforeClass
   public static void setupClass() {
@@ -70,6 +72,18 @@ public class GoGapicSurfaceTransformerTest {
 
     productConfig = GapicProductConfig.create(model, configProto, TargetLanguage.GO);
 
+    LanguageSettingsProto pooledSettings =
+        configProto
+            .getLanguageSettingsOrThrow("go")
+            .toBuilder()
+            .setGrpcConnectionPoolSize(4)
+            .build();
+    pooledProductConfig =
+        GapicProductConfig.create(
+            model,
+            configProto.toBuilder().putLanguageSettings("go", pooledSettings).build(),
+            TargetLanguage.GO);
+
     if (model.getDiagReporter().getDiagCollector().hasErrors()) {
       throw new IllegalStateException(
           model.getDiagReporter().getDiagCollector().getDiags().toString());
@@ -141,6 +155,40 @@ public class GoGapicSurfaceTransformerTest {
         .doesNotContainKey("cloud.google.com/go/longrunning");
   }
 
+  @Test
+  public void testGetImportsSingleConnection() {
+    MethodModel method = new ProtoMethodModel(getMethod(context.getInterface(), "SimpleMethod"));
+    transformer.addXApiImports(context, Collections.singletonList(method));
+    assertThat(productConfig.getGrpcConnectionPoolSize()).isEqualTo(0);
+    assertThat(context.getImportTypeTable().getImports())
+        .containsKey("google.golang.org/api/transport");
+    assertThat(context.getImportTypeTable().getImports())
+        .doesNotContainKey("google.golang.org/api/transport/grpc");
+    assertThat(context.getImportTypeTable().getImports()).doesNotContainKey("sync/atomic");
+  }
+
+  @Test
+  public void testGetImportsConnectionPool() {
+    GapicInterfaceContext pooledContext =
+        GapicInterfaceContext.create(
+            apiInterface,
+            pooledProductConfig,
+            GoGapicSurfaceTransformer.createTypeTable(),
+            new GoSurfaceNamer(pooledProductConfig.getPackageName()),
+            new DefaultFeatureConfig());
+    MethodModel method =
+        new ProtoMethodModel(getMethod(pooledContext.getInterface(), "SimpleMethod"));
+    transformer.addXApiImports(pooledContext, Collections.singletonList(method));
+    assertThat(pooledProductConfig.getGrpcConnectionPoolSize()).isEqualTo(4);
+    assertThat(pooledContext.getImportTypeTable().getImports())
+        .containsEntry(
+            "google.golang.org/api/transport/grpc",
+            TypeAlias.create("google.golang.org/api/transport/grpc", "gtransport"));
+    assertThat(pooledContext.getImportTypeTable().getImports()).containsKey("sync/atomic");
+    assertThat(pooledContext.getImportTypeTable().getImports())
+        .doesNotContainKey("google.golang.org/api/transport");
+  }
+
   @Test
   public void testGetExampleImportsServerStream() {
     MethodModel method =
@@ -0,0 +1,58 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.regex.Pattern;
+import org.junit.Test;
+
+public class CommentTransformerTest {
+
+  @Test
+  public void testTransformationsApplyInOrder() {
+    CommentTransformer transformer =
+        CommentTransformer.newBuilder()
+            .replace(Pattern.compile("a"), "b")
+            .replace(Pattern.compile("b"), "c")
+            .scopedReplace(CommentPatterns.HEADLINE_PATTERN, "#", "=")
+            .build();
+
+    assertThat(transformer.transform("a b\n## x")).isEqualTo("c c\n== x");
+    assertThat(transformer.transform("nothing to do")).isEqualTo("nothing to do");
+  }
+
+  @Test
+  public void testTransformationsWithBackReferences() {
+    CommentTransformer transformer =
+        CommentTransformer.newBuilder()
+            .replace(Pattern.compile("(o)\\1"), "0")
+            .replace(Pattern.compile("x"), "y")
+            .build();
+
+    assertThat(transformer.transform("foo box")).isEqualTo("f0 boy");
+    assertThat(transformer.transform("fo")).isEqualTo("fo");
+  }
+
+  @Test
+  public void testTransformedCommentsAreMemoized() {
+    CommentTransformer transformer =
+        CommentTransformer.newBuilder().replace(Pattern.compile("a"), "b").build();
+
+    String transformed = transformer.transform("aaa");
+    assertThat(transformed).isEqualTo("bbb");
+    assertThat(transformer.transform("aaa")).isSameAs(transformed);
+  }
+}
@@ -157,4 +157,23 @@ public class NameTest {
     assertThat(name.toLowerCamel()).isEqualTo("iamHTTPXML");
     assertThat(name.toUpperCamel()).isEqualTo("IAMHTTPXML");
   }
+
+  @Test
+  public void anyLowerDetectsFormat() {
+    assertThat(Name.anyLower("foo_bar", "baz").toUpperCamel()).isEqualTo("FooBarBaz");
+    assertThat(Name.anyLower("fooBar", "baz").toLowerUnderscore()).isEqualTo("foo_bar_baz");
+    assertThat(Name.anyLower("", null, "foo").toLowerCamel()).isEqualTo("foo");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void anyLowerMixedFormats() {
+    Name.anyLower("foo_bar", "bazQux");
+  }
+
+  @Test
+  public void namesAreInterned() {
+    assertThat(Name.anyLower("foo_bar")).isSameAs(Name.anyLower("foo_bar"));
+    assertThat(Name.upperCamel("FooBar")).isSameAs(Name.upperCamel("FooBar"));
+    assertThat(Name.from("foo_bar")).isEqualTo(Name.anyLower("foo_bar"));
+  }
 }
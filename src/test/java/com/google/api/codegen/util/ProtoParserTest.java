@@ -236,6 +236,17 @@ public class ProtoParserTest {
         .isEqualTo("Book");
   }
 
+  @Test
+  public void testResourceReferenceIndex() {
+    ResourceReferenceIndex resourceIndex =
+        protoParser.createResourceReferenceIndex(resourceDefs, resourceSetDefs);
+    assertThat(resourceIndex.lookup("Book", libraryProtoFile)).isEqualTo("Book");
+    assertThat(resourceIndex.lookup("google.example.library.v1.Book", libraryProtoFile))
+        .isEqualTo("Book");
+    assertThat(resourceIndex.lookup("BookOneOf", libraryProtoFile)).isEqualTo("BookOneOf");
+    assertThat(resourceIndex.lookup("NoSuchResource", libraryProtoFile)).isNull();
+  }
+
   @Test
   public void getResourceEntityName() {
     assertThat(protoParser.getResourceEntityName(shelfNameField)).isEqualTo("Shelf");
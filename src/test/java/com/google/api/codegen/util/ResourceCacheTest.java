@@ -0,0 +1,62 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.util;
+
+import static com.google.api.codegen.util.LicenseHeaderUtil.DEFAULT_LICENSE_FILE;
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.ByteSource;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import org.junit.Test;
+
+public class ResourceCacheTest {
+  private static final String LICENSE_RESOURCE = "com/google/api/codegen/" + DEFAULT_LICENSE_FILE;
+
+  @Test
+  public void getByteSourceSharesContents() throws IOException {
+    ByteSource resource = ResourceCache.getByteSource(LICENSE_RESOURCE);
+    byte[] expected = Files.readAllBytes(Paths.get("src/main/resources", LICENSE_RESOURCE));
+
+    assertThat(resource.read()).isEqualTo(expected);
+    assertThat(ResourceCache.getByteSource(LICENSE_RESOURCE)).isSameAs(resource);
+
+    // The cached contents cannot be modified through the arrays read from them.
+    byte[] contents = resource.read();
+    contents[0]++;
+    assertThat(ResourceCache.getByteSource(LICENSE_RESOURCE).read()).isEqualTo(expected);
+  }
+
+  @Test
+  public void getLines() throws IOException {
+    assertThat(ResourceCache.getLines(LICENSE_RESOURCE))
+        .containsExactlyElementsIn(
+            Files.readAllLines(Paths.get("src/main/resources", LICENSE_RESOURCE), Charsets.UTF_8))
+        .inOrder();
+  }
+
+  @Test
+  public void getByteSourceOfMissingResource() throws IOException {
+    assertThat(ResourceCache.getByteSource("com/google/api/codegen/no_such_resource.txt")).isNull();
+  }
+
+  @Test(expected = FileNotFoundException.class)
+  public void getLinesOfMissingResource() throws IOException {
+    ResourceCache.getLines("com/google/api/codegen/no_such_resource.txt");
+  }
+}